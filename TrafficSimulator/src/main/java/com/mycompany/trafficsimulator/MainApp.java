@@ -5,8 +5,6 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.application.Application;
@@ -42,10 +40,17 @@ import javafx.scene.layout.VBox;
  * <p> <b>Version Comments:</b> 
  *      <ul> 
  *          <li> 1.10b | 11/27/2016: Initial commit </li> 
+ *          <li> 1.11b | 10/18/2026: Progress window shows the map's ticks per second.</li>
+ *          <li> 1.12b | 10/18/2026: Progress window shows the map's chunk timing report.</li>
+ *          <li> 1.17b | 10/18/2026: Car generation moved to CarGenerator in the core module, shared with the headless BatchRunner.</li>
+ *          <li> 1.29b | 10/18/2026: The output table shows each signal's median, 95th and 99th percentile wait times.</li>
+ *          <li> 1.35b | 10/18/2026: The simulation starts once the map is built, its cars are generated ahead of it while it runs instead of
+ *                                   all before it. carQueue.txt is no longer read or written, the cars come from the seed.</li>
  *      </ul>
  */
 public class MainApp extends Application {
     protected static int seed = 54861234;
+    private static final int CAR_LOOK_AHEAD = 4096;    //the most cars generated ahead of the running map
     private Stage window;
     private BorderPane layout;
     private VBox leftStackBox;
@@ -153,6 +158,17 @@ public class MainApp extends Application {
         waitColumn.setMinWidth(100);
         waitColumn.setCellValueFactory(new PropertyValueFactory<>("waitTime"));
         
+        //wait time percentile Columns, read from each signal's wait statistics
+        TableColumn<Output, Double> medianWaitColumn = new TableColumn<>("Median Wait Time");
+        medianWaitColumn.setMinWidth(100);
+        medianWaitColumn.setCellValueFactory(new PropertyValueFactory<>("medianWaitTime"));
+        TableColumn<Output, Double> p95WaitColumn = new TableColumn<>("95th Percentile Wait");
+        p95WaitColumn.setMinWidth(100);
+        p95WaitColumn.setCellValueFactory(new PropertyValueFactory<>("p95WaitTime"));
+        TableColumn<Output, Double> p99WaitColumn = new TableColumn<>("99th Percentile Wait");
+        p99WaitColumn.setMinWidth(100);
+        p99WaitColumn.setCellValueFactory(new PropertyValueFactory<>("p99WaitTime"));
+        
         //carAlive Column   EC: what does this signify to the user?
         TableColumn<Output, Integer> carAliveColumn = new TableColumn<>("Car Amount");
         carAliveColumn.setMinWidth(100);
@@ -160,7 +176,7 @@ public class MainApp extends Application {
         
         table = new TableView<>();
         //table.setItems(getOutput()); //EC: only do this after execution.
-        table.getColumns().addAll(destColumn, signalColumn, waitColumn, carAliveColumn);
+        table.getColumns().addAll(destColumn, signalColumn, waitColumn, medianWaitColumn, p95WaitColumn, p99WaitColumn, carAliveColumn);
         
         
         
@@ -231,41 +247,12 @@ public class MainApp extends Application {
         createdMap = creator.getMap();
         if(userCarNum !=-1 && userCarTime !=-1)
             createdMap.userSettings(userCarNum, userCarTime);
-        DirectionCreation directions = new DirectionCreation(seed);
-        Queue<Car> carQueue = new LinkedList();
-        Random rand = new Random(seed);
-        pWindow.addToTextField("Done!");
-        
-        //create read from xlsx to check to see how many cars are already within.
-        pWindow.updateAction("Car Generation");
-        pWindow.addToTextField("Reading previously created cars...");
-        try {
-            carQueue = creator.readCarQueue();
-            if(carQueue == null)
-                carQueue = new LinkedList();
-        } catch (IOException ex) {
-            Logger.getLogger(MainApp.class.getName()).log(Level.SEVERE, null, ex);
-            pWindow.addToTextField("ERROR: Creator cant find the car file!");
-        }
-        pWindow.addToTextField("Done!");
-        pWindow.addToTextField("Found " + carQueue.size() + " car(s) from previous execution!");
-        
-        
-        pWindow.addToTextField("Generating Cars...");
-        int totalN = createdMap.getTotalCarsNeeded()-carQueue.size();
-        for(int x = 0; x<totalN; x++){
-            Car newCar = new Car(Car.REGULAR_CAR,directions.getDirections(createdMap, createdMap.getRandomPoint(rand), createdMap.getRandomPoint(rand)));
-            carQueue.add(newCar);
-            pWindow.updateProgressBar((double)x/totalN);
-        }
         pWindow.addToTextField("Done!");
         
-        creator.writeCarQueue(carQueue);
-        
-        //need to write this to xlsx to enhance runtime.
-        //maybe thread the above?
-        //add cars to the map
-        createdMap.addInitialCars(carQueue);
+        //the cars are generated from the seed on a background thread while the map runs, a window of them ahead of the clock
+        createdMap.setCarSource(new CarGenerator(seed));
+        createdMap.setCarLookAhead(CAR_LOOK_AHEAD);
+        createdMap.addInitialCars(new LinkedList<>());
         
         //createdMap.run(); //Debug run
         
@@ -281,9 +268,12 @@ public class MainApp extends Application {
 //            System.out.println("Actors in System:   " + createdMap.actorsInSystem());
 //            System.out.println("Cars finished:      " + createdMap.getDespawnedCars().size());
             pWindow.updateProgressBar(createdMap.getProgress());
+            pWindow.updateAction(String.format("Running Simulation (%.1f ticks/sec)", createdMap.getTicksPerSecond()));
             Thread.sleep(1000);
         }
         pWindow.addToTextField("Done!");
+        pWindow.addToTextField(String.format("Average simulation speed: %.1f ticks/sec", createdMap.getTicksPerSecond()));
+        pWindow.addToTextField(createdMap.getChunkReport().trim());
         
         //Mapthread is now finished, dump despawned cars back to xlsx for metrics.
         //System.out.println("Finished!");
@@ -302,7 +292,9 @@ public class MainApp extends Application {
         ObservableList<Output> output = FXCollections.observableArrayList();
         ArrayList<TrafficSignal> finishedSignals = createdMap.getTrafficSignals();
         for(int x = 0; x<finishedSignals.size(); x++){
-            output.add(new Output(finishedSignals.get(x).getSourceRoad().getName(), finishedSignals.get(x).getTotalCarsThrough(), finishedSignals.get(x).getSignalType(), finishedSignals.get(x).getAverageWaitTime()));
+            WaitStatistics waits = finishedSignals.get(x).getWaitStatistics();
+            output.add(new Output(finishedSignals.get(x).getSourceRoad().getName(), finishedSignals.get(x).getTotalCarsThrough(), finishedSignals.get(x).getSignalType(), finishedSignals.get(x).getAverageWaitTime(),
+                    waits.getPercentile(50), waits.getPercentile(95), waits.getPercentile(99)));
             pWindow.updateProgressBar((double)x/finishedSignals.size());
         }
         pWindow.addToTextField("Done!");
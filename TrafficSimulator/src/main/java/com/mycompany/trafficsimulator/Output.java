@@ -16,6 +16,9 @@ public class Output
     private int signalType;
     private double waitTime;
     private int carAlive;
+    private double medianWaitTime;
+    private double p95WaitTime;
+    private double p99WaitTime;
     
     public Output()
     {
@@ -32,6 +35,14 @@ public class Output
         this.signalType = signalType;
         this.waitTime = waitTime;
     }
+    
+    public Output(String destination, int carAlive, int signalType, double waitTime, double medianWaitTime, double p95WaitTime, double p99WaitTime)
+    {
+        this(destination, carAlive, signalType, waitTime);
+        this.medianWaitTime = medianWaitTime;
+        this.p95WaitTime = p95WaitTime;
+        this.p99WaitTime = p99WaitTime;
+    }
 
     public String getDestination() {
         return destination;
@@ -64,6 +75,18 @@ public class Output
     public void setCarAlive(int carAlive) {
         this.carAlive = carAlive;
     }
+
+    public double getMedianWaitTime() {
+        return medianWaitTime;
+    }
+
+    public double getP95WaitTime() {
+        return p95WaitTime;
+    }
+
+    public double getP99WaitTime() {
+        return p99WaitTime;
+    }
     
     
     
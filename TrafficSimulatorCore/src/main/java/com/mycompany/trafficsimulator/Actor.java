@@ -0,0 +1,30 @@
+package com.mycompany.trafficsimulator;
+
+/**
+ * This interface is created for the purpose of allowing the Map/runner to implement a generic array list for 
+ * all objects within the map (TrafficSignals, SignalGroups, and Cars.
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.02a
+ * <p> <b>Date Created: </b>October 26, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.02a | 10/26/2016: Initial commit </li> 
+ *          <li> 1.12b | 10/18/2026: Added getActCost for the TickEngine's chunk scheduling.</li>
+ *          <li> 1.36b | 10/18/2026: getActCost also cuts the map's signal partitions.</li>
+ *      </ul>
+ */
+interface Actor {
+    void act();
+    
+    /**
+     * This method returns an estimate of how much work this actor's next act will take, relative to a Car's act (cost 1).
+     * It is used to cut a phase into chunks of similar cost, and the map's signals into partitions of similar cost.
+     * @return The estimated cost of this actor's act.
+     * @since 1.12b
+     */
+    default int getActCost(){
+        return 1;
+    }
+}
@@ -0,0 +1,378 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Queue;
+
+/**
+ * BatchRunner is the headless launcher for the TrafficSimulator project. It runs one simulation from the command line without
+ * JavaFX or Swing and writes the results to files, so it can be used on servers with no display.
+ * <p> Usage: <code>java -cp TrafficSimulatorCore.jar com.mycompany.trafficsimulator.BatchRunner --network data.xlsx --seed 54861234
+ *      --cars 5000 --duration 3600 --out results</code>
+ * <p> Options:
+ *      <ul>
+ *          <li> --network  The .xlsx network file, default data.xlsx</li>
+ *          <li> --seed     The seed for car generation, default 54861234</li>
+ *          <li> --cars     The amount of cars to run, default is the integral of the map's car curve</li>
+ *          <li> --duration The simulated seconds to run, default 43200 (12 hrs)</li>
+ *          <li> --out      The directory the results are written to, default is the working directory</li>
+ *          <li> --engine   stepped or event, default stepped</li>
+ *          <li> --workers  The worker threads of the stepped engine, or the runs at once of an ensemble, default is the available processors</li>
+ *          <li> --runs     Run an ensemble of up to this many seeds, starting at --seed, default 1. It can not be used with
+ *                          --checkpoint, --resume, --car-store, --recycle or --look-ahead.</li>
+ *          <li> --ci       Stop the ensemble once every signal's 95% confidence interval on its average wait is at most this many
+ *                          seconds either side of the mean, default 0 (run all of --runs)</li>
+ *          <li> --checkpoint       A file to checkpoint the run to, it is replaced by each new checkpoint</li>
+ *          <li> --checkpoint-every The simulated seconds between checkpoints, default 3600</li>
+ *          <li> --resume   Continue the run saved in this checkpoint file instead of generating cars; the engine, car amount and
+ *                          duration are the checkpoint's. --network must be the network the checkpoint was taken on.</li>
+ *          <li> --car-store        on or off, keep the stepped engine's running cars in a struct of arrays store, default off</li>
+ *          <li> --recycle  on or off, generate cars as they are spawned and recycle the ones that finish, default off.
+ *                          It can not be used with --checkpoint.</li>
+ *          <li> --look-ahead       Generate the cars on a background thread while the map runs, keeping up to this many ready,
+ *                                  default 0 (generate them all before the run). It can not be used with --recycle.</li>
+ *      </ul>
+ * <p> The results are summary.txt, signals.csv (one row per traffic signal) and cars.csv (one row per finished car).
+ * An ensemble writes summary.txt and ensemble.csv (one row per traffic signal, merged over the runs) instead.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.17b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.17b | 10/18/2026: Initial commit </li>
+ *          <li> 1.18b | 10/18/2026: Added the --runs and --ci ensemble options.</li>
+ *          <li> 1.19b | 10/18/2026: Added the --checkpoint, --checkpoint-every and --resume options.</li>
+ *          <li> 1.20b | 10/18/2026: Added the --car-store option.</li>
+ *          <li> 1.21b | 10/18/2026: Added the --recycle option. cars.csv is written from the map's trip records.</li>
+ *          <li> 1.29b | 10/18/2026: signals.csv and ensemble.csv have the 50th, 95th and 99th percentile waits.</li>
+ *          <li> 1.35b | 10/18/2026: Added the --look-ahead option.</li>
+ *          <li> 1.36b | 10/18/2026: The default duration is the map's own, Map.DEFAULT_DURATION.</li>
+ *      </ul>
+ */
+public class BatchRunner {
+    private static final int DEFAULT_SEED = 54861234;   //the same seed the JavaFX launcher uses
+
+    private String network = "data.xlsx";
+    private int seed = DEFAULT_SEED;
+    private int cars = -1;
+    private int duration = -1;
+    private File outDir = new File(".");
+    private int engineMode = Map.TIME_STEPPED;
+    private int workers = -1;
+    private int runs = 1;
+    private double ciHalfWidth = 0;
+    private File checkpoint;
+    private int checkpointEvery = 3600;
+    private File resume;
+    private boolean carStore;
+    private boolean recycle;
+    private int lookAhead;
+
+    /**
+     * The command line entry point, exits with 1 on bad arguments and 2 when the run fails.
+     *
+     * @author Erik Clary
+     * @param args the command line arguments, see the class description.
+     * @since 1.17b
+     */
+    public static void main(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        try {
+            runner.parseArgs(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            printUsage();
+            System.exit(1);
+        }
+        try {
+            runner.run();
+        } catch (IOException ex) {
+            System.err.println("Batch run failed: " + ex);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Reads the options into this runner.
+     *
+     * @param args the command line arguments.
+     * @throws IllegalArgumentException on an unknown option, a missing value or a value that is not a valid number.
+     * @author Erik Clary
+     * @since 1.17b
+     */
+    private void parseArgs(String[] args) {
+        for(int x = 0; x<args.length; x++){
+            String option = args[x];
+            if(option.equals("--help") || option.equals("-h")){
+                printUsage();
+                System.exit(0);
+            }
+            if(x+1 >= args.length)
+                throw new IllegalArgumentException("Missing value for " + option);
+            String value = args[++x];
+            switch(option){
+                case "--network":
+                    network = value;
+                    break;
+                case "--seed":
+                    seed = parseInt(option, value, Integer.MIN_VALUE);
+                    break;
+                case "--cars":
+                    cars = parseInt(option, value, 0);
+                    break;
+                case "--duration":
+                    duration = parseInt(option, value, 1);
+                    break;
+                case "--out":
+                    outDir = new File(value);
+                    break;
+                case "--engine":
+                    if(value.equals("stepped"))
+                        engineMode = Map.TIME_STEPPED;
+                    else if(value.equals("event"))
+                        engineMode = Map.DISCRETE_EVENT;
+                    else
+                        throw new IllegalArgumentException("--engine must be stepped or event, got " + value);
+                    break;
+                case "--workers":
+                    workers = parseInt(option, value, 1);
+                    break;
+                case "--runs":
+                    runs = parseInt(option, value, 1);
+                    break;
+                case "--checkpoint":
+                    checkpoint = new File(value);
+                    break;
+                case "--checkpoint-every":
+                    checkpointEvery = parseInt(option, value, 1);
+                    break;
+                case "--resume":
+                    resume = new File(value);
+                    break;
+                case "--car-store":
+                    if(value.equals("on"))
+                        carStore = true;
+                    else if(value.equals("off"))
+                        carStore = false;
+                    else
+                        throw new IllegalArgumentException("--car-store must be on or off, got " + value);
+                    break;
+                case "--recycle":
+                    if(value.equals("on"))
+                        recycle = true;
+                    else if(value.equals("off"))
+                        recycle = false;
+                    else
+                        throw new IllegalArgumentException("--recycle must be on or off, got " + value);
+                    break;
+                case "--look-ahead":
+                    lookAhead = parseInt(option, value, 0);
+                    break;
+                case "--ci":
+                    try {
+                        ciHalfWidth = Double.parseDouble(value);
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("--ci must be a number of seconds, got " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if(recycle && checkpoint != null)
+            throw new IllegalArgumentException("--recycle can not be used with --checkpoint");
+        if(recycle && lookAhead > 0)
+            throw new IllegalArgumentException("--recycle can not be used with --look-ahead");
+        if(runs > 1){   //an ensemble always recycles its cars and runs each seed from the start
+            if(checkpoint != null)
+                throw new IllegalArgumentException("--checkpoint can not be used with --runs");
+            if(resume != null)
+                throw new IllegalArgumentException("--resume can not be used with --runs");
+            if(carStore)
+                throw new IllegalArgumentException("--car-store can not be used with --runs");
+            if(recycle)
+                throw new IllegalArgumentException("--recycle can not be used with --runs");
+            if(lookAhead > 0)
+                throw new IllegalArgumentException("--look-ahead can not be used with --runs");
+        }
+    }
+
+    private static int parseInt(String option, String value, int min) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(option + " must be a whole number, got " + value);
+        }
+        if(parsed < min)
+            throw new IllegalArgumentException(option + " must be at least " + min + ", got " + value);
+        return parsed;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BatchRunner [--network data.xlsx] [--seed n] [--cars n] [--duration seconds] [--out dir]"
+                + " [--engine stepped|event] [--workers n] [--runs n] [--ci seconds]"
+                + " [--checkpoint file] [--checkpoint-every seconds] [--resume file] [--car-store on|off] [--recycle on|off]"
+                + " [--look-ahead cars]");
+    }
+
+    /**
+     * Reads the network, generates the cars, runs the map on this thread and writes the results.
+     *
+     * @throws IOException when the network file cannot be read or the results cannot be written.
+     * @author Erik Clary
+     * @since 1.17b
+     */
+    private void run() throws IOException {
+        long start = System.nanoTime();
+        ReadExcel creator = new ReadExcel(network);
+        creator.run();
+        if(runs > 1){
+            runEnsemble(creator, start);
+            return;
+        }
+        Map map = creator.getMap();
+        if(cars != -1 || duration != -1){
+            if(duration == -1)
+                duration = Map.DEFAULT_DURATION;
+            if(cars == -1)
+                cars = map.getTotalCarsNeeded();
+            map.userSettings(cars, duration);
+        }
+        map.setEngineMode(engineMode);
+        if(workers != -1)
+            map.setWorkerCount(workers);
+        map.setCarStore(carStore);
+        map.setCarRecycling(recycle);
+        map.setCarLookAhead(lookAhead);
+
+        if(checkpoint != null)
+            map.setCheckpointing(checkpoint, checkpointEvery);
+
+        //the batch runner never reads or writes carQueue.txt, every run is generated from its own seed
+        CarGenerator generator = new CarGenerator(seed);
+        map.setCarSource(generator);    //set before resuming, so a resumed run goes on generating from the checkpoint's place
+        if(resume != null)
+            map.resumeFrom(resume);
+        else if(recycle || lookAhead > 0)
+            map.addInitialCars(new LinkedList<>());     //the cars are generated as they are spawned, recycled or ahead of the clock
+        else{
+            Queue<Car> carQueue = new LinkedList<>();
+            generator.fillQueue(map, carQueue, null);
+            map.addInitialCars(carQueue);
+        }
+        long loaded = System.nanoTime();
+
+        map.run();
+        long finished = System.nanoTime();
+        int carsGenerated = generator.getGenerated();
+
+        if(!outDir.isDirectory() && !outDir.mkdirs())
+            throw new IOException("Cannot create output directory " + outDir);
+        writeSignals(map.getTrafficSignals());
+        writeCars(map.getTripRecords());
+        writeSummary(map, carsGenerated, (loaded-start)/1e9, (finished-loaded)/1e9);
+    }
+
+    /**
+     * Runs an ensemble over the network already read and writes its results.
+     *
+     * @throws IOException when the results cannot be written.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    private void runEnsemble(ReadExcel creator, long start) throws IOException {
+        EnsembleRunner ensemble = new EnsembleRunner(creator, cars, duration);
+        ensemble.setEngineMode(engineMode);
+        if(workers != -1)
+            ensemble.setParallelism(workers);
+        long loaded = System.nanoTime();
+        int merged = ensemble.run(seed, runs, ciHalfWidth);
+        long finished = System.nanoTime();
+
+        if(!outDir.isDirectory() && !outDir.mkdirs())
+            throw new IOException("Cannot create output directory " + outDir);
+        try (PrintWriter pw = new PrintWriter(new File(outDir, "ensemble.csv"))) {
+            pw.println("identifier,road,signalType,runsWithCars,carsThrough,meanWait,halfWidth95,p50Wait,p95Wait,p99Wait");
+            for(EnsembleRunner.SignalSummary e: ensemble.getSignalSummaries()){
+                pw.println(csv(e.getIdentifier()) + "," + csv(e.getRoadName()) + "," + e.getSignalType() + "," + e.getSamples() + ","
+                        + e.getCarsThrough() + "," + String.format(Locale.ROOT, "%.3f,%.3f", e.getMeanWait(), e.getHalfWidth())
+                        + percentiles(e.getWaitStatistics()));
+            }
+        }
+        try (PrintWriter pw = new PrintWriter(new File(outDir, "summary.txt"))) {
+            pw.println("network=" + network);
+            pw.println("baseSeed=" + seed);
+            pw.println("engine=" + (engineMode == Map.DISCRETE_EVENT ? "event" : "stepped"));
+            pw.println("maxRuns=" + runs);
+            pw.println("runsMerged=" + merged);
+            pw.println("stoppedEarly=" + (merged < runs));
+            pw.println(String.format(Locale.ROOT, "targetHalfWidth=%.3f", ciHalfWidth));
+            pw.println(String.format(Locale.ROOT, "widestHalfWidth=%.3f", ensemble.getWidestHalfWidth()));
+            pw.println(String.format(Locale.ROOT, "loadSeconds=%.3f", (loaded-start)/1e9));
+            pw.println(String.format(Locale.ROOT, "runSeconds=%.3f", (finished-loaded)/1e9));
+        }
+    }
+
+    private void writeSummary(Map map, int carsGenerated, double loadSeconds, double runSeconds) throws FileNotFoundException {
+        try (PrintWriter pw = new PrintWriter(new File(outDir, "summary.txt"))) {
+            pw.println("network=" + network);
+            if(resume != null)
+                pw.println("resumedFrom=" + resume);
+            pw.println("seed=" + seed);
+            pw.println("engine=" + (engineMode == Map.DISCRETE_EVENT ? "event" : "stepped"));
+            pw.println("carsGenerated=" + carsGenerated);
+            pw.println("carsFinished=" + map.getTripRecords().size());
+            if(recycle)
+                pw.println("carsAllocated=" + map.getCarsAllocated());
+            pw.println("duration=" + (duration == -1 ? Map.DEFAULT_DURATION : duration));
+            pw.println(String.format(Locale.ROOT, "progress=%.3f", map.getProgress()));
+            pw.println(String.format(Locale.ROOT, "loadSeconds=%.3f", loadSeconds));
+            pw.println(String.format(Locale.ROOT, "runSeconds=%.3f", runSeconds));
+            pw.println(String.format(Locale.ROOT, "ticksPerSecond=%.1f", map.getTicksPerSecond()));
+            String report = map.getChunkReport().trim();
+            if(!report.isEmpty())
+                pw.println(report);
+        }
+    }
+
+    private void writeSignals(ArrayList<TrafficSignal> signals) throws FileNotFoundException {
+        try (PrintWriter pw = new PrintWriter(new File(outDir, "signals.csv"))) {
+            pw.println("identifier,road,signalType,carsThrough,averageWait,p50Wait,p95Wait,p99Wait");
+            for(TrafficSignal e: signals){
+                pw.println(csv(e.getIdentifier()) + "," + csv(e.getSourceRoad().getName()) + "," + e.getSignalType() + ","
+                        + e.getTotalCarsThrough() + "," + String.format(Locale.ROOT, "%.3f", e.getAverageWaitTime())
+                        + percentiles(e.getWaitStatistics()));
+            }
+        }
+    }
+
+    private void writeCars(ArrayList<TripRecord> finished) throws FileNotFoundException {
+        try (PrintWriter pw = new PrintWriter(new File(outDir, "cars.csv"))) {
+            pw.println("car,start,end,timeAlive,timeAtSignalLights,timeAtStopSigns");
+            for(TripRecord e: finished){
+                pw.println(csv(e.getCarID()) + "," + csv(e.getStartPoint()) + "," + csv(e.getEndPoint()) + ","
+                        + e.getAliveTime() + "," + e.getTimeAtSignalLight() + "," + e.getTimeAtStopSigns());
+            }
+        }
+    }
+
+    private static String percentiles(WaitStatistics waits) {
+        return String.format(Locale.ROOT, ",%.1f,%.1f,%.1f", waits.getPercentile(50), waits.getPercentile(95), waits.getPercentile(99));
+    }
+
+    private static String csv(String value) {
+        if(value == null)
+            return "";
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0)
+            return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,179 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The CalendarQueue class holds events keyed by the tick they are due on. Events within the next <i>width</i> ticks are kept in a ring of
+ * buckets (one bucket per tick), so scheduling and draining an event costs O(1). Events that are further away are held in an overflow
+ * queue and moved into their bucket once the clock comes within reach of them.
+ * <br>
+ * Events that are due on the same tick are drained in the order they were scheduled.
+ *
+ * @param <E> The type of event held in this queue.
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.13b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.13b | 10/18/2026: Initial commit </li>
+ *          <li> 1.14b | 10/18/2026: Added nextTick so the map can skip ahead to the next event.</li>
+ *          <li> 1.19b | 10/18/2026: Added forEachPending so the map can checkpoint its scheduled events.</li>
+ *          <li> 1.36b | 10/18/2026: Added advanceTo, so far events are bucketed before new events are scheduled on their tick.</li>
+ *      </ul>
+ */
+class CalendarQueue<E> {
+    private final ArrayList<E>[] buckets;
+    private final int mask;
+    private final PriorityQueue<FarEvent<E>> overflow;
+    private long scheduledCount;
+    private int currentTick;
+    private int size;
+
+    /**
+     * Constructor for this class.
+     *
+     * @param width     The amount of ticks ahead of the clock that are held in buckets, rounded up to a power of 2.
+     *                  This should be larger than most of the delays that are scheduled.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    @SuppressWarnings("unchecked")
+    CalendarQueue(int width){
+        int bucketCount = Integer.highestOneBit(Math.max(2, width)-1)<<1;
+        buckets = new ArrayList[bucketCount];
+        for(int x = 0; x<bucketCount; x++){
+            buckets[x] = new ArrayList<>();
+        }
+        mask = bucketCount-1;
+        overflow = new PriorityQueue<>();
+        currentTick = 0;
+    }
+
+    /**
+     * This method schedules an event on a tick. Events can not be scheduled before the tick that was last drained.
+     *
+     * @param tick      The tick the event is due on.
+     * @param event     The event.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void schedule(int tick, E event){
+        if(tick < currentTick)
+            throw new IllegalArgumentException("Event scheduled on tick " + tick + ", the queue is already at tick " + currentTick);
+        if(tick - currentTick <= mask)
+            buckets[tick & mask].add(event);
+        else
+            overflow.add(new FarEvent<>(tick, scheduledCount, event));
+        scheduledCount++;
+        size++;
+    }
+
+    /**
+     * This method moves the clock to the given tick without draining it, moving the far events that are now within reach into their
+     * buckets. Call it before scheduling events on a tick the clock has jumped to, so they are drained after the far events that were
+     * scheduled on that tick earlier. Every tick between the last drained one and this one must be empty.
+     *
+     * @param tick      The tick to move to, must not be before the last drained tick.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    void advanceTo(int tick){
+        if(tick < currentTick)
+            throw new IllegalArgumentException("Tick " + tick + " has already been drained, the queue is at tick " + currentTick);
+        currentTick = tick;
+        while(!overflow.isEmpty() && overflow.peek().tick - currentTick <= mask){
+            FarEvent<E> near = overflow.poll();
+            buckets[near.tick & mask].add(near.event);
+        }
+    }
+
+    /**
+     * This method moves the clock to the given tick and moves all events due on it into the given list, in the order they were scheduled.
+     * Ticks must be drained in order, every tick between the last drained one and this one must be empty.
+     *
+     * @param tick      The tick to drain, must not be before the last drained tick.
+     * @param into      The list the due events are added to.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void drain(int tick, ArrayList<E> into){
+        advanceTo(tick);
+        ArrayList<E> due = buckets[tick & mask];
+        into.addAll(due);
+        size -= due.size();
+        due.clear();
+    }
+
+    /**
+     * This method returns the earliest tick that has an event scheduled on it.
+     * @return The tick of the next event, Integer.MAX_VALUE if the queue is empty.
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    int nextTick(){
+        if(size == 0)
+            return Integer.MAX_VALUE;
+        for(int x = 0; x<=mask; x++){              //the buckets only hold ticks before any overflow event
+            if(!buckets[(currentTick+x) & mask].isEmpty())
+                return currentTick+x;
+        }
+        return overflow.peek().tick;
+    }
+
+    /**
+     * This method visits every event waiting in this queue, in the order they will be drained: by tick, then in the order they were scheduled.
+     * Scheduling the visited events again, in this order, into a new queue gives a queue that drains the same way.
+     * @param action    Given each event and the tick it is due on.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void forEachPending(ObjIntConsumer<E> action){
+        for(int x = 0; x<=mask; x++){
+            for(E e: buckets[(currentTick+x) & mask]){
+                action.accept(e, currentTick+x);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        FarEvent<E>[] far = overflow.toArray(new FarEvent[overflow.size()]);
+        Arrays.sort(far);
+        for(FarEvent<E> e: far){
+            action.accept(e.event, e.tick);
+        }
+    }
+
+    /**
+     * This method returns the amount of events waiting in this queue.
+     * @return The amount of events scheduled but not yet drained.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    int size(){
+        return size;
+    }
+
+    /**
+     * An event beyond the bucket ring, ordered by tick, then by the order it was scheduled in.
+     */
+    private static final class FarEvent<E> implements Comparable<FarEvent<E>> {
+        private final int tick;
+        private final long order;
+        private final E event;
+
+        private FarEvent(int tick, long order, E event){
+            this.tick = tick;
+            this.order = order;
+            this.event = event;
+        }
+
+        @Override
+        public int compareTo(FarEvent<E> other){
+            if(tick != other.tick)
+                return Integer.compare(tick, other.tick);
+            return Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.function.IntFunction;
+
+/**
+ * The Car class is a class containing the reporting methods of car, and statistics 
+ * attributes used for reporting the car's path and time.
+ * 
+ * 
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.00a
+ * <p> <b>Date Created: </b>October 24, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.00a | 10/24/2016: Initial commit </li>
+ *          <li> 1.02a | 10/26/2016: Added actor implement, and changed act
+ *                                      method to match the interface's requirements.</li>
+ *          <li> 1.05a | 11/07/2016: Added missing javadoc, added getTimeAlive method for metrics.</li>
+ *          <li> 1.07a | 11/09/2016: Added start/end points, needs to be finished.</li>
+ *          <li> 1.08a | 11/14/2016: Added functionality for Chris' change from string finding on traffic signals to passing the object (implements serializable)</li>
+ *          <li> 1.09a | 11/23/2016: Added functionality for Joey's metric pulls, added multithreading support for this class.</li>
+ *          <li> 1.13b | 10/18/2026: Added spawn/queue ticks and settleAt so the event driven engine can work out a car's timers
+ *                                      when it is released instead of making it act every second.</li>
+ *          <li> 1.14b | 10/18/2026: Added advance, used by the map to skip idle seconds.</li>
+ *          <li> 1.19b | 10/18/2026: Added writeState and a constructor that reads it back, for map checkpoints.</li>
+ *          <li> 1.20b | 10/18/2026: The route is an array walked by a cursor. A car can be attached to a CarStore, which then holds its status,
+ *                                   timers and route cursor; the car becomes a view over its slot in the store.</li>
+ *          <li> 1.21b | 10/18/2026: Added reset so a despawned car can be recycled by a CarPool. The route and the signal and stop sign wait
+ *                                   times are kept in reusable int buffers.</li>
+ *          <li> 1.22b | 10/18/2026: A car knows its index in the map's RunningCars, so it can be removed in constant time.</li>
+ *          <li> 1.23b | 10/18/2026: passContinueSignal returns the next signal's int id. The start and end points are kept as signals,
+ *                                   their identifiers and the car's id are only made into strings when asked for.</li>
+ *          <li> 1.29b | 10/18/2026: The waits at traffic lights and stop signs are kept as WaitStatistics instead of lists of every wait.</li>
+ *          <li> 1.31b | 10/18/2026: The time alive is a whole amount of seconds, and a travelling car holds the second of its time alive it
+ *                                   arrives on, from its next signal's travel ticks, instead of a time left that is counted down.</li>
+ *          <li> 1.36b | 10/18/2026: Added canArrive, false for a car on a road it can not drive.</li>
+ *      </ul>
+ */
+public class Car implements Actor, Runnable, Serializable{
+    public static final int WAITING_AT_SIGNAL = 0;
+    public static final int TRAVELLING = 1;
+    public static final int WAITING_TO_ENTER_SIGNAL_QUEUE = 2;
+    
+    public static final int REGULAR_CAR = 0;
+    
+    public static final int END_OF_ROUTE = -1;     //returned by passContinueSignal once the car has finished its route
+    
+    //timeAlive, arrivalTick, carStatus, timeWaitedAtSignal and routeCursor are only read here while the car is not attached
+    //to a car store, use the accessors at the bottom of this class.
+    private int timeAlive; //in seconds, the amount of times this car has acted
+    private TrafficSignal[] route;      //the route MUST BE UNIQUE TRAFFIC SIGNALS otherwise map's transfer algo will die.
+    private int routeLength;            //the route is the first routeLength signals, the array is reused when the car is recycled
+    private int routeCursor;            //index in route of the next signal to go to
+    private transient CarStore store;   //the store holding this car's state, null if the car holds it itself
+    private transient int slot;
+    private transient int runningIndex = -1;    //the car's index in the map's running cars, -1 while it is not running
+    private int carType;
+    private int arrivalTick;    //the time alive on which the car reaches the end of its current road
+    private int carStatus;
+    private TrafficSignal startPoint;
+    private TrafficSignal endPoint;
+    private int timeWaitedAtSignal;
+    private final WaitStatistics signalWaits;      //the waits at traffic lights, without percentiles
+    private final WaitStatistics stopSignWaits;    //the waits at stop signs, without percentiles
+    private int lastSignal;
+    private int spawnTick;
+    private int queuedTick;
+    
+    /**
+     * Constructor for car object, car status defaults to WAITING_TO_ENTER_SIGNAL_QUEUE, as it should be waiting to be spawned.
+     * 
+     * @param CAR_TYPE      The type of car that this car is. Must be one of the final car types: REGULAR_CAR etc.
+     * @param directions    A queue of the signal id's that this car will visit. These MUST be in the order that the car will visit; otherwise, the car will get lost.
+     *                      This should only be inserted by the direction creation algorithm.
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public Car(int CAR_TYPE, Queue<TrafficSignal> directions){
+        route = new TrafficSignal[directions.size()];
+        signalWaits = new WaitStatistics(false);
+        stopSignWaits = new WaitStatistics(false);
+        reset(CAR_TYPE, directions);
+    }
+    
+    /**
+     * This method makes this car a new car, as if it had just been constructed with the given type and directions. The car's buffers are
+     * kept, so a recycled car allocates nothing unless its new route is longer than any it had before.
+     * Only call this method on a car that has left the map, or was never in one.
+     * 
+     * @param CAR_TYPE      The type of car that this car is. Must be one of the final car types: REGULAR_CAR etc.
+     * @param directions    A queue of the signals that this car will visit, see the constructor.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    void reset(int CAR_TYPE, Queue<TrafficSignal> directions){
+        timeAlive = 0;
+        carType = CAR_TYPE;
+        carStatus = WAITING_TO_ENTER_SIGNAL_QUEUE;
+        startPoint = directions.peek();
+        endPoint = null;
+        if(route.length < directions.size())
+            route = new TrafficSignal[directions.size()];
+        routeLength = 0;
+        for(TrafficSignal e: directions){
+            route[routeLength++] = e;
+        }
+        Arrays.fill(route, routeLength, route.length, null);
+        routeCursor = 0;
+        arrivalTick = 0;
+        timeWaitedAtSignal = 0;
+        signalWaits.clear();
+        stopSignWaits.clear();
+        lastSignal = 0;
+        spawnTick = 0;
+        queuedTick = 0;
+    }
+    
+    /**
+     * Constructor that reads a car written by writeState, used to resume a map from a checkpoint.
+     * 
+     * @param in        The checkpoint being read.
+     * @param signals   Looks up a traffic signal of the map being resumed by its index.
+     * @throws IOException if the checkpoint can not be read.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    Car(DataInputStream in, IntFunction<TrafficSignal> signals) throws IOException{
+        carType = in.readInt();
+        startPoint = signals.apply(in.readInt());
+        int end = in.readInt();
+        endPoint = end < 0 ? null : signals.apply(end);
+        routeLength = in.readInt();
+        route = new TrafficSignal[routeLength];
+        for(int x = 0; x<routeLength; x++){
+            route[x] = signals.apply(in.readInt());
+        }
+        routeCursor = 0;
+        timeAlive = in.readInt();
+        arrivalTick = in.readInt();
+        carStatus = in.readInt();
+        timeWaitedAtSignal = in.readInt();
+        lastSignal = in.readInt();
+        spawnTick = in.readInt();
+        queuedTick = in.readInt();
+        signalWaits = new WaitStatistics(false);
+        signalWaits.readState(in);
+        stopSignWaits = new WaitStatistics(false);
+        stopSignWaits.readState(in);
+    }
+    
+    /**
+     * This method writes everything about this car to a map checkpoint: its route from the next signal on, its timers and its metrics.
+     * Signals are written as their id, which is their index in the map.
+     * 
+     * @param out           The checkpoint being written.
+     * @throws IOException if the checkpoint can not be written.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void writeState(DataOutputStream out) throws IOException{
+        out.writeInt(carType);
+        out.writeInt(startPoint.getId());
+        out.writeInt(endPoint == null ? -1 : endPoint.getId());
+        int cursor = routeCursor();
+        out.writeInt(routeLength - cursor);
+        for(int x = cursor; x<routeLength; x++){
+            out.writeInt(route[x].getId());
+        }
+        out.writeInt(timeAlive());
+        out.writeInt(arrivalTick());
+        out.writeInt(status());
+        out.writeInt(waited());
+        out.writeInt(lastSignal);
+        out.writeInt(spawnTick);
+        out.writeInt(queuedTick);
+        signalWaits.writeState(out);
+        stopSignWaits.writeState(out);
+    }
+    
+    /**
+     * This method returns the time that this car has waited at the current signal
+     * 
+     * @author Erik Clary
+     * @return Time as seconds the car has waited.
+     * @since 1.09a
+     */
+    public int getTimeAtSignal(){
+        return waited();
+    }
+    
+    /**
+     * This method returns the car's starting signal's identifier as a String.
+     * 
+     * @author Erik Clary
+     * @return The unique id of this car's starting signal.
+     * @since 1.09a
+     */
+    public String getStartPoint(){
+        return startPoint.getIdentifier();
+    }
+    
+    /**
+     * This method returns the car's ending signal's identifier as a String.
+     * @author Erik Clary
+     * @return The unique id of this car's final signal.
+     * @since 1.09a
+     */
+    public String getEndPoint(){
+        return endPoint == null ? null : endPoint.getIdentifier();
+    }
+    
+    /**
+     * This method passes the continue flag to this car object. It also stores metric
+     * calculations to their respective locations. 
+     * It returns the id of the next traffic signal that it needs to go to.
+     * 
+     * @return the int id of the next traffic signal to go to, END_OF_ROUTE if the car has finished its route.
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public int passContinueSignal(){
+        int cursor = routeCursor();
+        setStatus(TRAVELLING);
+        if(cursor >= routeLength){ //the route is finished
+            setWaited(0);
+            return END_OF_ROUTE;
+        }
+        TrafficSignal nextRoad = route[cursor];
+        setRouteCursor(cursor+1);
+        setArrivalTick(arrivalAfter(timeAlive(), nextRoad.getTravelTicks(carType)));
+        endPoint = nextRoad;
+        int waited = waited();
+        if(lastSignal >= SignalBehavior.TRAFFICLIGHTA)
+            signalWaits.add(waited);
+        if(lastSignal == SignalBehavior.STOPSIGN)
+            stopSignWaits.add(waited);
+        lastSignal = nextRoad.getSignalType();
+        setWaited(0);
+        return nextRoad.getId();
+    }
+
+    /**
+     * This method returns the amount of time the car has been alive for.
+     * @return Time this car has been alive for [as double].
+     * @since 1.05a
+     * @author Erik Clary
+     */
+    public double getAliveTime(){
+        return timeAlive();
+    }
+    
+    /**
+     * Returns this car's status; e.g. WAITING_TO_ENTER_SIGNAL_QUEUE as int. Be sure 
+     * to only compare the result of this method with this car's behavioral finals.
+     * 
+     * @return the current status of this car.
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public int getCarStatus(){
+        return status();
+    }
+    
+    /**
+     * This method returns the car's unique ID
+     * 
+     * @author Erik Clary
+     * @return A string that can be used to identify this car: "CAR_TYPE--StartingPosition"
+     * @since 1.09a
+     */
+    public String getCarID(){
+        return "" +carType + "--" + startPoint.getIdentifier();
+    }
+    
+    /**
+     * This method sets the car's flag as waiting at a signal. Functionally, this 
+     * makes the car's act() short-circuit and only count the time it is waiting.
+     * 
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public void carAddedToSignal(){
+        setStatus(WAITING_AT_SIGNAL); //this is for readability and limiting outside class functionality of changing the car's status.
+    }
+    
+    /**
+     * This method records the tick this car was spawned on, used to work out its time alive in the event driven engine.
+     * @param tick  The running second the car was added to the map.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void spawnedAt(int tick){
+        spawnTick = tick;
+    }
+    
+    /**
+     * This method sets the car's flag as waiting at a signal, and records the tick it started waiting on.
+     * This is used by the event driven engine, where the car does not act while it waits.
+     * @param tick  The running second the car entered the signal's queue.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void queuedAt(int tick){
+        carAddedToSignal();
+        queuedTick = tick;
+    }
+    
+    /**
+     * This method brings the car's timers up to date as if it had acted every second up to and including the given tick.
+     * It must be called before the car is released from the signal it queued at with queuedAt.
+     * @param tick  The running second the car is being released on.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void settleAt(int tick){
+        setWaited(tick - queuedTick);
+        setTimeAlive(tick - spawnTick + 1);
+    }
+    
+    /**
+     * This method returns the amount of acts it takes this car to reach the end of its current road, a car that
+     * has just been given its continue flag needs at least one.
+     * @return The amount of seconds until this car waits to enter its next signal's queue.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    int getTicksOnCurrentRoad(){
+        return Math.max(1, arrivalTick() - timeAlive());
+    }
+    
+    /**
+     * This method returns false if the car is on a road it can not drive, whose travel ticks are CarBehavior.NEVER. Such a car never
+     * reaches its next signal.
+     * @return True if the car reaches the end of its current road at some time alive.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    boolean canArrive(){
+        return arrivalTick() != CarBehavior.NEVER;
+    }
+    
+    /**
+     * This method makes the car take a step. This should only be called by the stage.
+     * Note: a step for this actor is incrementing its alive-time, then checking if
+     * it has reached the end of the road. If so, it changes its flag to WAITING_TO_ENTER_SIGNAL_QUEUE
+     * in order for the signal to add it to said queue.
+     * 
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    @Override
+    public void act(){
+        if(store != null){
+            store.actRange(slot, slot+1);
+            return;
+        }
+        timeAlive += 1;
+        if(carStatus == WAITING_AT_SIGNAL){
+            timeWaitedAtSignal++;
+            return; //if this car is waiting for a signal, do nothing.
+        }
+        
+        if(timeAlive >= arrivalTick){
+            carStatus = WAITING_TO_ENTER_SIGNAL_QUEUE;
+            return;
+        }
+    }
+
+    /**
+     * This method makes a travelling car take the given amount of steps at once. It must only be used on a car that will
+     * still be travelling after the steps, see getTicksOnCurrentRoad.
+     * @param ticks The amount of seconds to step.
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    void advance(int ticks){
+        setTimeAlive(timeAlive() + ticks);     //the arrival tick stays ahead of the time alive, as it does when stepped one second at a time
+    }
+    
+    /**
+     * This method returns the time alive a car arrives on if it sets off on a road now, a road that can not be driven is never arrived at.
+     * @param timeAlive     The car's time alive.
+     * @param travelTicks   The seconds the road takes, from TrafficSignal.getTravelTicks.
+     * @return The arrival tick.
+     * @author Erik Clary
+     * @since 1.31b
+     */
+    static int arrivalAfter(int timeAlive, int travelTicks){
+        return (int)Math.min(CarBehavior.NEVER, (long)timeAlive + travelTicks);
+    }
+
+    /**
+     * This method enables multithreading of the car class' act/logic.
+     * @author Erik Clary
+     * @since 1.09a
+     */
+    @Override
+    public void run() {
+        act();
+    }
+
+    /**
+     * This method returns the average of times this car has waited at signals.
+     * @author Erik Clary
+     * @since 1.09a
+     * @return Average of the time spent at signals.
+     */
+    public double getTimeAtSignalLight() {
+        return signalWaits.getMean();
+    }
+
+    /**
+     * This method returns the average of times this car has waited at stop signs.
+     * @author Erik Clary
+     * @since 1.09a
+     * @return Average of the time spent at stop signs.
+     */
+    public double getTimeAtStopSigns() {
+        return stopSignWaits.getMean();
+    }
+
+    /**
+     * This method moves this car's status, timers and route cursor into the given slot of a car store, which holds them from now on.
+     * Only the store should call this method.
+     * @param store     The store taking this car.
+     * @param slot      The car's slot in the store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void attachTo(CarStore store, int slot){
+        store.status[slot] = carStatus;
+        store.timeAlive[slot] = timeAlive;
+        store.arrivalTick[slot] = arrivalTick;
+        store.waited[slot] = timeWaitedAtSignal;
+        store.routeCursor[slot] = routeCursor;
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * This method tells this car the store moved its state to another slot. Only the store should call this method.
+     * @param slot      The car's new slot in the store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void movedTo(int slot){
+        this.slot = slot;
+    }
+
+    /**
+     * This method copies this car's state back out of its car store, the car holds it itself from now on. Only the store should call this method.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void detach(){
+        carStatus = store.status[slot];
+        timeAlive = store.timeAlive[slot];
+        arrivalTick = store.arrivalTick[slot];
+        timeWaitedAtSignal = store.waited[slot];
+        routeCursor = store.routeCursor[slot];
+        store = null;
+        slot = -1;
+    }
+
+    /**
+     * This method returns the index of this car in the running cars of its map.
+     * @return The index, -1 if the car is not running.
+     * @author Erik Clary
+     * @since 1.22b
+     */
+    int getRunningIndex(){
+        return runningIndex;
+    }
+    
+    /**
+     * This method sets the index of this car in the running cars of its map. Only RunningCars should call this method.
+     * @param index The car's new index, -1 when it is removed.
+     * @author Erik Clary
+     * @since 1.22b
+     */
+    void setRunningIndex(int index){
+        runningIndex = index;
+    }
+    
+    /**
+     * This method returns the slot of this car in its car store.
+     * @return The slot, -1 if the car is not attached to a store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    int getSlot(){
+        return store == null ? -1 : slot;
+    }
+
+    private int status(){
+        return store == null ? carStatus : store.status[slot];
+    }
+
+    private void setStatus(int status){
+        if(store == null)
+            carStatus = status;
+        else
+            store.status[slot] = status;
+    }
+
+    private int timeAlive(){
+        return store == null ? timeAlive : store.timeAlive[slot];
+    }
+
+    private void setTimeAlive(int time){
+        if(store == null)
+            timeAlive = time;
+        else
+            store.timeAlive[slot] = time;
+    }
+
+    private int arrivalTick(){
+        return store == null ? arrivalTick : store.arrivalTick[slot];
+    }
+
+    private void setArrivalTick(int tick){
+        if(store == null)
+            arrivalTick = tick;
+        else
+            store.arrivalTick[slot] = tick;
+    }
+
+    private int waited(){
+        return store == null ? timeWaitedAtSignal : store.waited[slot];
+    }
+
+    private void setWaited(int time){
+        if(store == null)
+            timeWaitedAtSignal = time;
+        else
+            store.waited[slot] = time;
+    }
+
+    private int routeCursor(){
+        return store == null ? routeCursor : store.routeCursor[slot];
+    }
+
+    private void setRouteCursor(int cursor){
+        if(store == null)
+            routeCursor = cursor;
+        else
+            store.routeCursor[slot] = cursor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.trafficsimulator;
+
+/**
+ * CarBehavior class is an object to be used to encapsulate behaviors and actions
+ * of a Car for it to reference.
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.02a
+ * <p> <b>Date Created: </b>October 25, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.02a | 10/26/2016: Initial commit </li> 
+ *          <li> 1.05a | 11/07/2016: Added getTime method skeleton, incomplete.</li>
+ *          <li> 1.07a | 11/09/2016: Deleted uneccesary return from getTime</li>
+ *          <li> 1.08a | 11/14/2016: Added functionality for Chris' change from string finding on traffic signals to passing the object</li>
+ *          <li> 1.31b | 10/18/2026: Added getTravelTicks, the whole seconds every car type takes on a signal's road, worked out once per signal.</li>
+ *          <li> 1.36b | 10/18/2026: Added getRouteWeight, the time a regular car takes on a signal's road in hundredths of a second, for routing.</li>
+ *      </ul>
+ */
+public class CarBehavior {
+    //these are the final car type enums, more can be added.
+    public final int REGULAR = 0;
+    public static final int CAR_TYPES = 1;  //car types 0 to this - 1 have their travel times tabled by every signal
+    public static final int NEVER = Integer.MAX_VALUE;     //the travel ticks of a road that can not be driven, its cars never arrive
+    public static final int ROUTE_WEIGHT_SCALE = 100;      //route weights are in hundredths of a second
+
+    static double getTime(int carType, TrafficSignal nextRoad) {
+        double length = ReadExcel.getRoadLength(nextRoad); //to be implemented with commit of xlsx class
+        double speed = ReadExcel.getRoadSpeed(nextRoad);//to be implemented with commit of xlsx class
+        switch(carType){
+            case 0: return (length/(speed*3600));  //Speed calc is as such: length/speed * 60(mins) * 60(secs) to produce the time in seconds it would take for the car to run.
+            default: return (length/(speed*3600));
+        }
+    }
+    
+    /**
+     * This method works out the amount of seconds each car type takes to drive a signal's road, as the amount of times a car acts
+     * before it reaches the signal: at least one, NEVER if the road has no speed.
+     * 
+     * @param nextRoad  The signal whose road is driven.
+     * @return The seconds on the road, by car type.
+     * @author Erik Clary
+     * @since 1.31b
+     */
+    static int[] getTravelTicks(TrafficSignal nextRoad) {
+        int[] ticks = new int[CAR_TYPES];
+        for(int carType = 0; carType<CAR_TYPES; carType++){
+            ticks[carType] = toTicks(getTime(carType, nextRoad));
+        }
+        return ticks;
+    }
+    
+    /**
+     * This method works out how long a regular car takes to drive a signal's road, its distance over its speed limit, for finding the
+     * quickest routes. Unlike the travel ticks it is not rounded up to whole seconds, so roads of different lengths weigh differently.
+     * 
+     * @param nextRoad  The signal whose road is driven.
+     * @return The time in hundredths of a second, at least one, NEVER if the road has no speed.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    static int getRouteWeight(TrafficSignal nextRoad) {
+        double seconds = ReadExcel.getRoadLength(nextRoad)/ReadExcel.getRoadSpeed(nextRoad)*3600;    //miles over miles per hour, in seconds
+        double weight = Math.ceil(seconds*ROUTE_WEIGHT_SCALE);
+        if(!(weight < Double.POSITIVE_INFINITY))
+            return NEVER;
+        return (int)Math.max(1, Math.min(NEVER - 1, weight));
+    }
+    
+    /**
+     * This method rounds a time on a road up to the whole seconds a car acts for before it arrives, at least one.
+     * 
+     * @param time  The time from getTime.
+     * @return The seconds, NEVER if the time is infinite or not a number.
+     * @author Erik Clary
+     * @since 1.31b
+     */
+    static int toTicks(double time) {
+        if(!(time < NEVER))
+            return NEVER;
+        return Math.max(1, (int)Math.ceil(time));
+    }
+}
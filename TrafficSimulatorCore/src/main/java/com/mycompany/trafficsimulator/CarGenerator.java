@@ -0,0 +1,161 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.function.DoubleConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * CarGenerator creates the cars a map needs to run, each with random start and end points and directions between them.
+ * It is shared by the JavaFX launcher and the headless BatchRunner so both produce the same cars from the same seed.
+ * <p> Every car draws from its own SplittableRandom stream, derived from the seed and the car's place in the order the cars are
+ * generated. A car does not depend on the cars before it, so fillQueue generates them in parallel and the queue is the same as a
+ * single threaded run's at any thread count, and a generator can be moved to any place in the order at once.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.17b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.17b | 10/18/2026: Initial commit, moved out of MainApp.startSimulation </li>
+ *          <li> 1.21b | 10/18/2026: Added next, so a map can generate its cars as it spawns them and take them from its car pool.</li>
+ *          <li> 1.34b | 10/18/2026: Each car draws from its own SplittableRandom stream instead of one shared Random, fillQueue generates
+ *                                   the cars in parallel batches. Added setGenerated.</li>
+ *          <li> 1.35b | 10/18/2026: Added generate, for a CarPipeline to make the cars ahead of a running map.</li>
+ *          <li> 1.36b | 10/18/2026: Added getSeed, so a map's checkpoint can record which cars it was running. generate routes each chunk of
+ *                                   its cars with a DirectionCreation of its own instead of one kept in a ThreadLocal of the pool's
+ *                                   threads, which kept the last map each thread routed over alive.</li>
+ *      </ul>
+ */
+public class CarGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;  //the odd constant SplittableRandom steps its seeds by
+    static final int BATCH = 4096;      //cars generated in parallel between progress reports
+    private static final int CHUNK = 256;   //cars of a batch one thread routes with the same DirectionCreation
+
+    private final long seed;
+    private final int seedValue;        //the seed as given, before it is mixed
+    private final DirectionCreation directions = new DirectionCreation(0);  //routes the cars of next, only used by the map's thread
+    private int generated;
+
+    /**
+     * Constructor for this class, the same seed is used for the start and end points and the directions.
+     *
+     * @param seed  value of the seed to be used in the random number generation
+     * @author Erik Clary
+     * @since 1.17b
+     */
+    public CarGenerator(int seed){
+        this.seed = mix64(seed);
+        this.seedValue = seed;
+    }
+
+    /**
+     * This method returns the seed this generator was made with.
+     * @return The seed given to the constructor.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    public int getSeed(){
+        return seedValue;
+    }
+
+    /**
+     * This method adds new cars to the given queue until it holds as many cars as the map needs to run.
+     *
+     * @param map       The map the cars will run in.
+     * @param carQueue  The queue to add to, it may already hold cars from a previous execution.
+     * @param progress  Told the fraction of the cars generated so far, may be null.
+     * @author Erik Clary
+     * @since 1.17b
+     */
+    public void fillQueue(Map map, Queue<Car> carQueue, DoubleConsumer progress){
+        int totalN = map.getTotalCarsNeeded()-carQueue.size();
+        for(int x = 0; x<totalN; x += BATCH){
+            Car[] batch = generate(map, generated + x, Math.min(BATCH, totalN - x));
+            Collections.addAll(carQueue, batch);
+            if(progress != null)
+                progress.accept((double)(x + batch.length)/totalN);
+        }
+        generated += Math.max(0, totalN);
+    }
+
+    /**
+     * This method returns how many cars this generator has made.
+     * @return The amount of cars generated so far.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    public int getGenerated(){
+        return generated;
+    }
+
+    /**
+     * This method makes the cars at the given places in the order, in parallel, without moving this generator. Each car is the one
+     * next would return at its place. It only reads this generator and the map, so it may be called from any thread while the map runs.
+     * @param map       The map the cars will run in.
+     * @param first     The place of the first car.
+     * @param amount    The amount of cars to make.
+     * @return The cars, in order.
+     * @author Erik Clary
+     * @since 1.35b
+     */
+    Car[] generate(Map map, int first, int amount){
+        Car[] cars = new Car[amount];
+        IntStream.range(0, (amount + CHUNK - 1)/CHUNK).parallel().forEach(chunk -> {
+            DirectionCreation chunkDirections = new DirectionCreation(0);   //dropped with the chunk, so no pool thread keeps the map
+            for(int x = chunk*CHUNK; x<Math.min(amount, (chunk + 1)*CHUNK); x++){
+                cars[x] = make(map, first + x, null, chunkDirections);
+            }
+        });
+        return cars;
+    }
+
+    /**
+     * This method moves this generator to a place in the order of its cars, the next car it makes is the one that would have been
+     * made after the given amount. A map uses it to continue generating from a checkpoint.
+     * @param generated The amount of cars to count as generated already.
+     * @author Erik Clary
+     * @since 1.34b
+     */
+    void setGenerated(int generated){
+        this.generated = generated;
+    }
+
+    /**
+     * This method generates the next car, the same one fillQueue would have added next.
+     *
+     * @param map       The map the car will run in.
+     * @param pool      The pool to take the car from, null to allocate a new car.
+     * @return The new car.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    Car next(Map map, CarPool pool){
+        return make(map, generated++, pool, directions);
+    }
+
+    /**
+     * Makes the car at the given place in the order, from that car's own stream. Safe to call from many threads at once if pool is null
+     * and each thread routes with its own DirectionCreation.
+     */
+    private Car make(Map map, int index, CarPool pool, DirectionCreation directions){
+        SplittableRandom stream = new SplittableRandom(mix64(seed + (index + 1L)*GOLDEN_GAMMA));
+        TrafficSignal start = map.getRandomPoint(stream);
+        TrafficSignal end = map.getRandomPoint(stream);
+        Queue<TrafficSignal> route = directions.getDirections(map, start, end, stream);
+        if(pool == null)
+            return new Car(Car.REGULAR_CAR, route);
+        return pool.obtain(Car.REGULAR_CAR, route);
+    }
+
+    /**
+     * Scrambles the bits of a value, the finalizer of SplitMix64, so nearby seeds and places give unrelated streams.
+     */
+    private static long mix64(long z){
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CarPipeline class generates a map's cars on its own thread while the map runs, keeping up to a set amount of them ready ahead of
+ * the clock in a bounded queue. The map takes its cars from the queue as it spawns them, so a run can start before its cars are made,
+ * and only the look ahead window of cars is ever held waiting to spawn.
+ * <p> The cars are made in batches by the generator's generate, in parallel, and queued in order. The map is handed the same cars
+ * the generator's next would have made, and the generator counts a car as generated once the map has taken it, so a checkpoint or
+ * the results count the cars the map has seen, not the ones made ahead.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.35b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.35b | 10/18/2026: Initial commit </li>
+ *          <li> 1.36b | 10/18/2026: Any Throwable that stops the generating thread is kept, so an Error fails take instead of hanging it.</li>
+ *      </ul>
+ */
+final class CarPipeline {
+    private static final long FAILURE_CHECK_MILLIS = 100;   //how often a waiting take checks that the generating thread is alive
+
+    private final CarGenerator generator;
+    private final ArrayBlockingQueue<Car> ready;
+    private final Thread producer;
+    private volatile Throwable failure;     //what stopped the generating thread, null while it runs
+
+    /**
+     * Constructor for this class, starts the generating thread from the generator's next car. It is a daemon thread, call close
+     * once the map has finished.
+     *
+     * @param generator The generator to make the cars with, only the map's thread may use it until the pipeline is closed.
+     * @param map       The map the cars will run in.
+     * @param lookAhead The most cars to hold ready, at least 1.
+     * @author Erik Clary
+     * @since 1.35b
+     */
+    CarPipeline(CarGenerator generator, Map map, int lookAhead){
+        this.generator = generator;
+        ready = new ArrayBlockingQueue<>(lookAhead);
+        int first = generator.getGenerated();
+        int batch = Math.min(CarGenerator.BATCH, lookAhead);
+        producer = new Thread(() -> produce(map, first, batch), "car-pipeline");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * This method takes the next car, waiting for it to be made if the pipeline has fallen behind the map.
+     * @return The car, the one the generator's next would have returned.
+     * @throws IllegalStateException if the cars can no longer be made, or the calling thread is interrupted while waiting.
+     * @author Erik Clary
+     * @since 1.35b
+     */
+    Car take(){
+        try {
+            Car car;
+            while((car = ready.poll(FAILURE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) == null){
+                if(failure != null || !producer.isAlive())
+                    throw new IllegalStateException("Cars could not be generated", failure);
+            }
+            generator.setGenerated(generator.getGenerated() + 1);
+            return car;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a car to be generated", ex);
+        }
+    }
+
+    /**
+     * This method stops the generating thread and waits for it to finish its batch. The cars still queued are dropped.
+     * @author Erik Clary
+     * @since 1.35b
+     */
+    void close(){
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        ready.clear();
+    }
+
+    /**
+     * Makes batches of cars from the given place on and queues them, until the pipeline is closed.
+     */
+    private void produce(Map map, int first, int batch){
+        try {
+            for(int next = first; !Thread.currentThread().isInterrupted(); next += batch){
+                for(Car e: generator.generate(map, next, batch)){
+                    ready.put(e);
+                }
+            }
+        } catch (InterruptedException ex) {
+            //closed
+        } catch (Throwable ex) {     //an Error as well, or take would wait for cars that never come
+            failure = ex;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * The CarPool class keeps the cars that have left the map so they can be reset and spawned again, instead of allocating a new Car,
+ * route and wait time buffers for every trip. It is only used by the map's thread.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.21b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.21b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+class CarPool {
+    private final ArrayDeque<Car> free = new ArrayDeque<>();
+    private long created;
+    private long reused;
+
+    /**
+     * This method returns a car of the given type following the given directions, a recycled one if the pool has any.
+     *
+     * @param carType       The type of car, see Car.REGULAR_CAR.
+     * @param directions    The signals the car will visit, see the Car constructor.
+     * @return A car ready to be spawned.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    Car obtain(int carType, Queue<TrafficSignal> directions){
+        Car car = free.poll();
+        if(car == null){
+            created++;
+            return new Car(carType, directions);
+        }
+        reused++;
+        car.reset(carType, directions);
+        return car;
+    }
+
+    /**
+     * This method takes back a car that has left the map, its results must have been copied out first, see TripRecord.
+     * @param car   The despawned car, nothing else may hold on to it.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    void release(Car car){
+        free.push(car);
+    }
+
+    /**
+     * This method returns how many cars this pool had to allocate.
+     * @return The amount of cars created by obtain.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    long getCreated(){
+        return created;
+    }
+
+    /**
+     * This method returns how many spawns were served by a recycled car.
+     * @return The amount of cars reset by obtain.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    long getReused(){
+        return reused;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The CarRing class is a first in, first out queue of cars kept in a growable circular array. Once it has grown to the most cars it
+ * holds, adding and removing cars allocates nothing. Cars can be moved from the head of one ring to the tail of another in bulk, with
+ * at most three array copies, which is how a signal releases its queued cars.
+ * <p> It is not thread safe, each ring belongs to one signal.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.28b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.28b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+final class CarRing implements Serializable {
+    private static final int INITIAL_CAPACITY = 16;  //a power of 2, the capacity always is
+
+    private Car[] cars = new Car[INITIAL_CAPACITY];
+    private int head;   //the index of the first car
+    private int size;
+
+    /**
+     * This method returns the amount of cars in this ring.
+     * @return The amount of cars.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    int size(){
+        return size;
+    }
+
+    /**
+     * This method returns true if this ring holds no cars.
+     * @return True if the ring is empty.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * This method adds a car at the tail of this ring.
+     * @param car   The car to add.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    void add(Car car){
+        if(size == cars.length)
+            grow(size+1);
+        cars[(head + size) & (cars.length-1)] = car;
+        size++;
+    }
+
+    /**
+     * This method removes the car at the head of this ring.
+     * @return The first car, null if the ring is empty.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    Car poll(){
+        if(size == 0)
+            return null;
+        Car first = cars[head];
+        cars[head] = null;
+        head = (head+1) & (cars.length-1);
+        size--;
+        return first;
+    }
+
+    /**
+     * This method returns the car at the given place in this ring, from the head.
+     * @param index The place of the car, 0 is the head.
+     * @return The car.
+     * @throws IndexOutOfBoundsException if the ring holds no car at that place.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    Car get(int index){
+        if(index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size + " cars");
+        return cars[(head + index) & (cars.length-1)];
+    }
+
+    /**
+     * This method moves up to the given amount of cars from the head of this ring to the tail of another, keeping their order.
+     * @param other     The ring to move the cars to, not this ring.
+     * @param amount    The most cars to move.
+     * @return The amount of cars moved, less than amount if this ring ran out.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    int drainTo(CarRing other, int amount){
+        int moved = Math.min(amount, size);
+        if(moved <= 0)
+            return 0;
+        if(other.size + moved > other.cars.length)
+            other.grow(other.size + moved);
+        int done = 0;
+        while(done < moved){    //each copy stops at the end of either array, there are at most three
+            int from = (head + done) & (cars.length-1);
+            int to = (other.head + other.size + done) & (other.cars.length-1);
+            int run = Math.min(moved - done, Math.min(cars.length - from, other.cars.length - to));
+            System.arraycopy(cars, from, other.cars, to, run);
+            Arrays.fill(cars, from, from + run, null);
+            done += run;
+        }
+        head = (head + moved) & (cars.length-1);
+        size -= moved;
+        other.size += moved;
+        return moved;
+    }
+
+    /**
+     * This method removes every car from this ring.
+     * @author Erik Clary
+     * @since 1.28b
+     */
+    void clear(){
+        for(int x = 0; x<size; x++){
+            cars[(head + x) & (cars.length-1)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Moves the cars to the start of a larger array, at least large enough for the given amount.
+     */
+    private void grow(int needed){
+        int capacity = cars.length;
+        while(capacity < needed){
+            capacity <<= 1;
+        }
+        Car[] larger = new Car[capacity];
+        int firstRun = Math.min(size, cars.length - head);
+        System.arraycopy(cars, head, larger, 0, firstRun);
+        System.arraycopy(cars, 0, larger, firstRun, size - firstRun);
+        cars = larger;
+        head = 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The CarStore class holds the per tick state of the running cars in parallel primitive arrays, one slot per car, instead of in
+ * the fields of each Car. A car attached to the store is a view over its slot: its status, time alive, the time alive it
+ * arrives on, time waited at its signal and route cursor are read and written here. Acting a tick is then a linear scan over packed
+ * arrays instead of a walk over car objects spread around the heap.
+ * <p> The slots are kept dense, a detached car's slot is filled with the car in the last slot. The store is not thread safe
+ * except for actRange over ranges that do not overlap, which is how the tick engine's workers use it.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.20b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.20b | 10/18/2026: Initial commit </li>
+ *          <li> 1.31b | 10/18/2026: The time alive and the arrival tick are ints, a travelling car arrives when its time alive reaches
+ *                                   its arrival tick, and skipping ticks only moves the time alive.</li>
+ *      </ul>
+ */
+class CarStore {
+    private static final int BLOCK_SIZE = 256;  //slots acted by one actor, this is what the tick engine's chunks are made of
+    private static final int INITIAL_CAPACITY = 1024;
+
+    int[] status;
+    int[] timeAlive;
+    int[] arrivalTick;
+    int[] waited;
+    int[] routeCursor;
+    private Car[] cars;
+    private int size;
+    private final ArrayList<Actor> blocks = new ArrayList<>();
+
+    /**
+     * Constructor for this class, creates an empty store.
+     *
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    CarStore(){
+        status = new int[INITIAL_CAPACITY];
+        timeAlive = new int[INITIAL_CAPACITY];
+        arrivalTick = new int[INITIAL_CAPACITY];
+        waited = new int[INITIAL_CAPACITY];
+        routeCursor = new int[INITIAL_CAPACITY];
+        cars = new Car[INITIAL_CAPACITY];
+    }
+
+    /**
+     * This method returns the amount of cars attached to this store.
+     * @return The amount of used slots.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    int size(){
+        return size;
+    }
+
+    /**
+     * This method moves the given car's state into a new slot at the end of this store.
+     * @param car   A car not attached to any store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void attach(Car car){
+        if(size == cars.length)
+            grow();
+        cars[size] = car;
+        car.attachTo(this, size);
+        size++;
+    }
+
+    /**
+     * This method gives the given car its state back and frees its slot, the last slot's car is moved into it.
+     * @param car   A car attached to this store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void detach(Car car){
+        int freed = car.getSlot();
+        car.detach();
+        int last = --size;
+        if(freed != last){
+            status[freed] = status[last];
+            timeAlive[freed] = timeAlive[last];
+            arrivalTick[freed] = arrivalTick[last];
+            waited[freed] = waited[last];
+            routeCursor[freed] = routeCursor[last];
+            cars[freed] = cars[last];
+            cars[freed].movedTo(freed);
+        }
+        cars[last] = null;
+    }
+
+    /**
+     * This method gives every car its state back and empties this store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void detachAll(){
+        for(int x = 0; x<size; x++){
+            cars[x].detach();
+            cars[x] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * This method acts one tick for the cars in the given slots, it does what Car.act does for each of them.
+     * @param from  The first slot, inclusive.
+     * @param to    The last slot, exclusive.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void actRange(int from, int to){
+        for(int x = from; x<to; x++){
+            timeAlive[x] += 1;
+            if(status[x] == Car.WAITING_AT_SIGNAL){
+                waited[x]++;
+                continue; //if this car is waiting for a signal, do nothing.
+            }
+            if(timeAlive[x] >= arrivalTick[x])
+                status[x] = Car.WAITING_TO_ENTER_SIGNAL_QUEUE;
+        }
+    }
+
+    /**
+     * This method makes every car take the given amount of steps at once, see Car.advance.
+     * @param ticks The amount of ticks to skip, every car must still be travelling after them.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    void advanceAll(int ticks){
+        for(int x = 0; x<size; x++){
+            timeAlive[x] += ticks;
+        }
+    }
+
+    /**
+     * This method returns actors that each act one block of slots, together they act every car in this store once.
+     * The list is only valid until cars are next attached or detached.
+     * @return The block actors, in slot order.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    ArrayList<Actor> getBlocks(){
+        int needed = (size + BLOCK_SIZE - 1)/BLOCK_SIZE;
+        while(blocks.size() < needed)
+            blocks.add(new Block(blocks.size()*BLOCK_SIZE));
+        while(blocks.size() > needed)
+            blocks.remove(blocks.size()-1);
+        return blocks;
+    }
+
+    private void grow(){
+        int capacity = cars.length*2;
+        status = Arrays.copyOf(status, capacity);
+        timeAlive = Arrays.copyOf(timeAlive, capacity);
+        arrivalTick = Arrays.copyOf(arrivalTick, capacity);
+        waited = Arrays.copyOf(waited, capacity);
+        routeCursor = Arrays.copyOf(routeCursor, capacity);
+        cars = Arrays.copyOf(cars, capacity);
+    }
+
+    /**
+     * Acts the slots from its first slot up to BLOCK_SIZE later, or the end of the store.
+     */
+    private final class Block implements Actor {
+        private final int first;
+
+        private Block(int first){
+            this.first = first;
+        }
+
+        @Override
+        public void act(){
+            actRange(first, Math.min(first + BLOCK_SIZE, size));
+        }
+
+        @Override
+        public int getActCost(){
+            return Math.max(0, Math.min(BLOCK_SIZE, size - first));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The CheckpointWriter class writes map checkpoints to disk on its own thread. The map encodes its state between two seconds, which
+ * only copies it into memory, and hands the bytes to this writer; compressing and writing them to the file happens while the map
+ * keeps running. A checkpoint is written to a temporary file that is then moved over the old checkpoint, so a run that dies while
+ * writing still leaves the previous checkpoint whole.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.19b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.19b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+class CheckpointWriter {
+    private final ExecutorService writer;
+    private Future<?> pending;
+
+    /**
+     * Constructor for this class, starts the writer thread. It is a daemon thread, call await before the program exits.
+     *
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    CheckpointWriter(){
+        writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method returns true if the last checkpoint handed to this writer is still being written.
+     * @return True while a write is in progress.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    boolean isBusy(){
+        return pending != null && !pending.isDone();
+    }
+
+    /**
+     * This method compresses and writes an encoded checkpoint to the target file on the writer thread, after any write still in progress.
+     * A failed write is logged, the target keeps the checkpoint it had before.
+     *
+     * @param state     The encoded checkpoint, it must not be changed after it is handed over.
+     * @param target    The checkpoint file.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void submit(byte[] state, File target){
+        pending = writer.submit(() -> {
+            File temporary = new File(target.getPath() + ".tmp");
+            try {
+                try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                    out.write(state);
+                }
+                Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                Logger.getLogger(CheckpointWriter.class.getName()).log(Level.SEVERE, "Checkpoint " + target + " was not written", ex);
+            }
+        });
+    }
+
+    /**
+     * This method blocks until the last checkpoint handed to this writer has been written, or has failed.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void await(){
+        if(pending == null)
+            return;
+        try {
+            pending.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            Logger.getLogger(CheckpointWriter.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * This method waits for the last checkpoint to be written, then stops the writer thread.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void shutdown(){
+        await();
+        writer.shutdown();
+    }
+
+    /**
+     * This method opens a checkpoint file written by this class for reading.
+     * @param file  The checkpoint file.
+     * @return A stream of the encoded checkpoint.
+     * @throws IOException if the file can not be opened or is not compressed the way this class writes it.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    static DataInputStream open(File file) throws IOException{
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+        } catch (IOException ex) {
+            in.close();
+            throw ex;
+        }
+    }
+}
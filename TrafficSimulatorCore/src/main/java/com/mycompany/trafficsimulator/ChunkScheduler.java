@@ -0,0 +1,195 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ChunkScheduler class splits one phase of a tick into chunks and hands those chunks to the TickEngine's workers.
+ * A chunk is a contiguous index range of the phase's actor list, cut so that every chunk has about the same estimated cost
+ * (see Actor.getActCost). Each worker owns a contiguous run of chunks and takes them from the front; a worker that runs out
+ * steals chunks from the back of the other workers' runs, so an expensive chunk does not hold the whole phase up.
+ * <br>
+ * The time each chunk takes to act is recorded per worker, and can be pulled as a report to tune the chunk cost.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.12b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.12b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+class ChunkScheduler {
+    public static final int DEFAULT_CHUNK_COST = 256;
+
+    private final String phaseName;
+    private final boolean weighted;
+    private final int workerCount;
+    private final AtomicLong[] workerChunks;    //per worker: the next chunk to take (high 32 bits) and the end of its chunks (low 32 bits)
+    private int[] chunkBounds = new int[2];     //chunk x acts on the actors [chunkBounds[x], chunkBounds[x+1])
+    private int chunkCount;
+    private List<? extends Actor> actors;
+
+    //chunk timing, each worker only writes its own slot
+    private final long[] chunksRun;
+    private final long[] chunksStolen;
+    private final long[] nanosActing;
+    private final long[] slowestChunk;
+
+    /**
+     * Constructor for this class.
+     *
+     * @param phaseName     The name of the phase this scheduler runs, used in the timing report.
+     * @param weighted      True if the actors of this phase have different costs, false if every actor costs the same.
+     *                      An unweighted phase is split by actor count, without polling each actor's cost.
+     * @param workerCount   The amount of workers that will run chunks.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    ChunkScheduler(String phaseName, boolean weighted, int workerCount){
+        this.phaseName = phaseName;
+        this.weighted = weighted;
+        this.workerCount = workerCount;
+        workerChunks = new AtomicLong[workerCount];
+        for(int x = 0; x<workerCount; x++){
+            workerChunks[x] = new AtomicLong();
+        }
+        chunksRun = new long[workerCount];
+        chunksStolen = new long[workerCount];
+        nanosActing = new long[workerCount];
+        slowestChunk = new long[workerCount];
+    }
+
+    /**
+     * This method cuts the actor list into chunks of about chunkCost each, and deals the chunks out to the workers.
+     * It must be called before the workers are released into the phase.
+     *
+     * @param phaseActors   The actors that will act in this phase.
+     * @param chunkCost     The estimated cost each chunk should add up to.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    void plan(List<? extends Actor> phaseActors, int chunkCost){
+        actors = phaseActors;
+        int size = phaseActors.size();
+        chunkCount = 0;
+        if(!weighted){
+            for(int from = 0; from<size; from+=chunkCost){
+                addChunk(from, Math.min(size, from+chunkCost));
+            }
+        }
+        else{
+            int from = 0;
+            int cost = 0;
+            for(int x = 0; x<size; x++){
+                cost += phaseActors.get(x).getActCost();
+                if(cost >= chunkCost){
+                    addChunk(from, x+1);
+                    from = x+1;
+                    cost = 0;
+                }
+            }
+            if(from<size)
+                addChunk(from, size);
+        }
+        for(int x = 0; x<workerCount; x++){                 //each worker owns an even, contiguous share of the chunks
+            long first = (long)chunkCount*x/workerCount;
+            long end = (long)chunkCount*(x+1)/workerCount;
+            workerChunks[x].set((first<<32) | end);
+        }
+    }
+
+    /**
+     * This method runs the worker's own chunks, then steals chunks from the other workers until no chunks are left in the phase.
+     * @param worker    The index of the worker calling this method.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    void runChunks(int worker){
+        int chunk;
+        while((chunk = takeFirst(worker)) >= 0){
+            runChunk(chunk, worker);
+        }
+        for(int x = 1; x<workerCount; x++){
+            int victim = (worker+x)%workerCount;
+            while((chunk = takeLast(victim)) >= 0){
+                chunksStolen[worker]++;
+                runChunk(chunk, worker);
+            }
+        }
+    }
+
+    /**
+     * This method returns a one line summary of the chunk timings of this phase since the simulation started.
+     * Only call this method between ticks.
+     * @return The chunk count, stolen chunk count, average and slowest chunk time of this phase.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    String getReport(){
+        long runs = 0, steals = 0, nanos = 0, slowest = 0;
+        for(int x = 0; x<workerCount; x++){
+            runs += chunksRun[x];
+            steals += chunksStolen[x];
+            nanos += nanosActing[x];
+            slowest = Math.max(slowest, slowestChunk[x]);
+        }
+        double average = runs == 0 ? 0 : (nanos/1000.0)/runs;
+        return String.format("%s: %d chunks (%d stolen), avg %.1f us/chunk, slowest %.1f us", phaseName, runs, steals, average, slowest/1000.0);
+    }
+
+    private void addChunk(int from, int to){
+        if(chunkCount+2 > chunkBounds.length){
+            int[] grown = new int[chunkBounds.length*2];
+            System.arraycopy(chunkBounds, 0, grown, 0, chunkBounds.length);
+            chunkBounds = grown;
+        }
+        chunkBounds[chunkCount] = from;
+        chunkBounds[++chunkCount] = to;
+    }
+
+    private void runChunk(int chunk, int worker){
+        long start = System.nanoTime();
+        for(int x = chunkBounds[chunk]; x<chunkBounds[chunk+1]; x++){
+            actors.get(x).act();
+        }
+        long took = System.nanoTime() - start;
+        chunksRun[worker]++;
+        nanosActing[worker] += took;
+        if(took > slowestChunk[worker])
+            slowestChunk[worker] = took;
+    }
+
+    /**
+     * Takes the first chunk remaining in the worker's own run.
+     * @return The chunk's index, -1 if the run is empty.
+     */
+    private int takeFirst(int worker){
+        AtomicLong run = workerChunks[worker];
+        while(true){
+            long state = run.get();
+            int next = (int)(state>>>32), end = (int)state;
+            if(next >= end)
+                return -1;
+            if(run.compareAndSet(state, ((long)(next+1)<<32) | end))
+                return next;
+        }
+    }
+
+    /**
+     * Steals the last chunk remaining in the victim's run.
+     * @return The chunk's index, -1 if the run is empty.
+     */
+    private int takeLast(int victim){
+        AtomicLong run = workerChunks[victim];
+        while(true){
+            long state = run.get();
+            int next = (int)(state>>>32), end = (int)state;
+            if(next >= end)
+                return -1;
+            if(run.compareAndSet(state, ((long)next<<32) | (end-1)))
+                return end-1;
+        }
+    }
+}
@@ -0,0 +1,660 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.Arrays;
+
+/**
+ * The ContractionHierarchy class answers shortest route queries between any two traffic signals of a SignalGraph. An edge from a
+ * signal to one of its exits weighs the time a regular car takes on the exit's road, its route weight in hundredths of a second.
+ * <p> It is built once per map: the signals are contracted one at a time, least important first, and whenever removing a signal would
+ * lengthen a shortest route between two of its neighbours a shortcut edge is added between them instead. Each signal is then given its
+ * contraction rank, and a query searches from both ends only along edges that go up in rank, meeting at the highest signal of the route.
+ * Those searches settle a small fraction of the network, and the shortcuts are unpacked back into the signals they stand for.
+ * <p> The hierarchy is never changed after it is built, so any number of threads can query it, each through its own Query.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.32b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.32b | 10/18/2026: Initial commit </li>
+ *          <li> 1.33b | 10/18/2026: Added Query.alternatives, the routes through the other signals both searches reach.</li>
+ *          <li> 1.36b | 10/18/2026: Edges weigh the road's route weight instead of its travel ticks, which are one second for almost every
+ *                                   road and made the shortest route the one with the fewest signals.</li>
+ *      </ul>
+ */
+final class ContractionHierarchy {
+    private static final int WITNESS_SETTLE_LIMIT = 128;   //signals a witness search settles before a shortcut is added without proof it is needed
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    private final SignalGraph graph;
+    private final int[] rank;           //by id: the order the signal was contracted in
+    private final int[] upStart;        //by id: the index of the signal's first upward edge, upStart[id+1] is one past its last
+    private final int[] upTo;           //the higher ranked end of each upward edge
+    private final int[] upWeight;
+    private final int[] upMiddle;       //the signal a shortcut skips, -1 for an edge of the graph
+    private final int[] downStart;      //the same for the edges into each signal from a higher ranked one, searched backwards
+    private final int[] downFrom;
+    private final int[] downWeight;
+    private final int[] downMiddle;
+
+    /**
+     * Constructor for this class, contracts the graph of a map.
+     *
+     * @param graph     The map's signal graph.
+     * @author Erik Clary
+     * @since 1.32b
+     */
+    ContractionHierarchy(SignalGraph graph){
+        this.graph = graph;
+        int n = graph.size();
+        Edges[] out = new Edges[n];
+        Edges[] in = new Edges[n];
+        for(int x = 0; x<n; x++){
+            out[x] = new Edges();
+            in[x] = new Edges();
+        }
+        for(int from = 0; from<n; from++){
+            for(int e = graph.firstExit(from); e<graph.endExit(from); e++){
+                int to = graph.exitAt(e);
+                int weight = graph.signal(to).getRouteWeight();
+                if(to != from && weight != CarBehavior.NEVER)
+                    addEdge(out, in, from, to, weight, -1);
+            }
+        }
+
+        rank = new int[n];
+        Arrays.fill(rank, -1);
+        int[] contractedNeighbours = new int[n];
+        Witness witness = new Witness(n);
+        Heap order = new Heap(n);
+        for(int v = 0; v<n; v++){
+            order.push(priority(v, out, in, contractedNeighbours, witness, false), v);
+        }
+        int contracted = 0;
+        while(!order.isEmpty()){
+            int v = order.pop();
+            long current = priority(v, out, in, contractedNeighbours, witness, false);
+            if(!order.isEmpty() && current > order.topKey()){
+                order.push(current, v);     //lazy update: it became less of a candidate since it was queued
+                continue;
+            }
+            priority(v, out, in, contractedNeighbours, witness, true);
+            rank[v] = contracted++;
+            for(int x = 0; x<out[v].size; x++){     //v's edges are left to the signals above it, the others forget it
+                contractedNeighbours[out[v].node[x]]++;
+                in[out[v].node[x]].remove(v);
+            }
+            for(int x = 0; x<in[v].size; x++){
+                contractedNeighbours[in[v].node[x]]++;
+                out[in[v].node[x]].remove(v);
+            }
+        }
+
+        upStart = new int[n+1];
+        downStart = new int[n+1];
+        for(int x = 0; x<n; x++){
+            upStart[x+1] = upStart[x] + out[x].size;
+            downStart[x+1] = downStart[x] + in[x].size;
+        }
+        upTo = new int[upStart[n]];
+        upWeight = new int[upStart[n]];
+        upMiddle = new int[upStart[n]];
+        downFrom = new int[downStart[n]];
+        downWeight = new int[downStart[n]];
+        downMiddle = new int[downStart[n]];
+        for(int v = 0; v<n; v++){
+            System.arraycopy(out[v].node, 0, upTo, upStart[v], out[v].size);
+            System.arraycopy(out[v].weight, 0, upWeight, upStart[v], out[v].size);
+            System.arraycopy(out[v].middle, 0, upMiddle, upStart[v], out[v].size);
+            System.arraycopy(in[v].node, 0, downFrom, downStart[v], in[v].size);
+            System.arraycopy(in[v].weight, 0, downWeight, downStart[v], in[v].size);
+            System.arraycopy(in[v].middle, 0, downMiddle, downStart[v], in[v].size);
+        }
+    }
+
+    /**
+     * This method returns a new query over this hierarchy, a query holds the buffers of one search at a time.
+     * @return The query.
+     * @author Erik Clary
+     * @since 1.32b
+     */
+    Query newQuery(){
+        return new Query(graph.size());
+    }
+
+    /**
+     * Works out how many shortcuts contracting a signal needs, less the edges it removes, plus how many of its neighbours were already
+     * contracted so the contraction spreads evenly over the network. If contract is true the shortcuts are added.
+     * The edge lists only hold the edges between signals that are not contracted yet.
+     */
+    private static long priority(int v, Edges[] out, Edges[] in, int[] contractedNeighbours, Witness witness, boolean contract){
+        int shortcuts = 0;
+        for(int i = 0; i<in[v].size; i++){
+            int from = in[v].node[i];
+            long limit = 0;
+            for(int o = 0; o<out[v].size; o++){
+                if(out[v].node[o] != from)
+                    limit = Math.max(limit, (long)in[v].weight[i] + out[v].weight[o]);
+            }
+            if(limit == 0)
+                continue;
+            witness.search(from, v, limit, out);
+            for(int o = 0; o<out[v].size; o++){
+                int to = out[v].node[o];
+                if(to == from)
+                    continue;
+                long through = (long)in[v].weight[i] + out[v].weight[o];
+                if(witness.distance(to) > through){
+                    shortcuts++;
+                    if(contract)
+                        addEdge(out, in, from, to, (int)Math.min(Integer.MAX_VALUE-1, through), v);
+                }
+            }
+        }
+        return shortcuts - in[v].size - out[v].size + contractedNeighbours[v];
+    }
+
+    /**
+     * Adds an edge, or shortens the edge between the same two signals if there already is one.
+     */
+    private static void addEdge(Edges[] out, Edges[] in, int from, int to, int weight, int middle){
+        int x = out[from].indexOf(to);
+        if(x >= 0){
+            if(out[from].weight[x] <= weight)
+                return;
+            out[from].weight[x] = weight;
+            out[from].middle[x] = middle;
+            int y = in[to].indexOf(from);
+            in[to].weight[y] = weight;
+            in[to].middle[y] = middle;
+            return;
+        }
+        out[from].add(to, weight, middle);
+        in[to].add(from, weight, middle);
+    }
+
+    /**
+     * Returns the signal the edge from one signal to the other skips, -1 if it is an edge of the graph.
+     */
+    private int middleOf(int from, int to){
+        if(rank[from] < rank[to]){
+            for(int x = upStart[from]; x<upStart[from+1]; x++){
+                if(upTo[x] == to)
+                    return upMiddle[x];
+            }
+        }
+        else{
+            for(int x = downStart[to]; x<downStart[to+1]; x++){
+                if(downFrom[x] == from)
+                    return downMiddle[x];
+            }
+        }
+        throw new IllegalStateException("There is no edge from signal " + from + " to " + to + ".");
+    }
+
+    /**
+     * The Query class finds shortest routes in the hierarchy. It keeps its buffers from one route to the next, so a route allocates
+     * only the signals it returns. It is not thread safe, each thread makes its own.
+     *
+     * @author Erik Clary
+     * @since 1.32b
+     */
+    final class Query {
+        private final long[] forward;       //by id: the distance from the start, valid while forwardSeen is the current search
+        private final long[] backward;      //by id: the distance to the end
+        private final int[] forwardParent;
+        private final int[] backwardParent;
+        private final int[] forwardSeen;
+        private final int[] backwardSeen;
+        private final Heap forwardHeap;
+        private final Heap backwardHeap;
+        private int search;
+        private int meeting;                //the signal the shortest route of the last search meets at, -1 if there is none
+        private final int[] forwardTouched; //the signals the forward search reached, in the order it reached them
+        private int forwardCount;
+        private final int[] visited;        //by id: equal to visitedStamp if on the route being checked
+        private int visitedStamp;
+        private final int[] onRoutes;       //by id: equal to onRoutesStamp if on a route alternatives has kept
+        private int onRoutesStamp;
+        private int[] chain = new int[32];  //the upward edges from the start to the meeting signal, in reverse
+        private int[] stack = new int[32];  //the edges still to unpack
+        private int[] path = new int[32];
+        private int pathLength;
+
+        private Query(int n){
+            forward = new long[n];
+            backward = new long[n];
+            forwardParent = new int[n];
+            backwardParent = new int[n];
+            forwardSeen = new int[n];
+            backwardSeen = new int[n];
+            forwardHeap = new Heap(n);
+            backwardHeap = new Heap(n);
+            forwardTouched = new int[n];
+            visited = new int[n];
+            onRoutes = new int[n];
+        }
+
+        /**
+         * This method finds a shortest route from one signal to another and holds it until the next route is found.
+         * @param start     The id of the signal the route starts at.
+         * @param end       The id of the signal the route ends at.
+         * @return The amount of signals on the route, including the start and end, 0 if the end can not be reached from the start.
+         * @author Erik Clary
+         * @since 1.32b
+         */
+        int route(int start, int end){
+            pathLength = 0;
+            if(start == end){
+                append(start);
+                return pathLength;
+            }
+            search(start, end, 0);
+            if(meeting < 0)
+                return 0;
+            appendVia(start, end, meeting);
+            return pathLength;
+        }
+
+        /**
+         * This method finds up to the given amount of routes from one signal to another, the shortest first. The others go through a
+         * signal that both searches reached: they take at most stretch times as long as the shortest, visit no signal twice and share at
+         * most the given fraction of their signals with the routes found before them.
+         * @param start     The id of the signal the routes start at.
+         * @param end       The id of the signal the routes end at.
+         * @param most      The most routes to find, at least 1.
+         * @param stretch   How many times longer than the shortest route the others may take, at least 1.
+         * @param shared    The largest fraction of a route's signals that may be on the routes found before it.
+         * @return The routes as signal ids, including the start and end. Empty if the end can not be reached from the start.
+         * @author Erik Clary
+         * @since 1.33b
+         */
+        int[][] alternatives(int start, int end, int most, double stretch, double shared){
+            pathLength = 0;
+            if(start == end){
+                append(start);
+                return new int[][]{Arrays.copyOf(path, pathLength)};
+            }
+            long best = search(start, end, stretch - 1);
+            if(meeting < 0)
+                return new int[0][];
+            int shortest = meeting;
+            long longest = best + (long)(best*(stretch - 1));
+            int count = 0;
+            for(int x = 0; x<forwardCount; x++){
+                int v = forwardTouched[x];
+                if(v == shortest || backwardSeen[v] != search)
+                    continue;
+                long length = forward[v] + backward[v];
+                if(length <= longest && length <= Integer.MAX_VALUE)
+                    forwardTouched[count++] = v;     //compacted in place, only the signals before x are overwritten
+            }
+            long[] candidates = new long[count];
+            for(int x = 0; x<count; x++){
+                int v = forwardTouched[x];
+                candidates[x] = ((forward[v] + backward[v])<<32) | v;
+            }
+            Arrays.sort(candidates);
+
+            int[][] found = new int[most][];
+            int routes = 0;
+            if(++onRoutesStamp == 0){
+                Arrays.fill(onRoutes, 0);
+                onRoutesStamp = 1;
+            }
+            for(int x = -1; x<count && routes < most; x++){
+                int via = x < 0 ? shortest : (int)candidates[x];
+                if(onRoutes[via] == onRoutesStamp)
+                    continue;   //its route would mostly be one already kept
+                pathLength = 0;
+                appendVia(start, end, via);
+                if(++visitedStamp == 0){
+                    Arrays.fill(visited, 0);
+                    visitedStamp = 1;
+                }
+                int onEarlier = 0;
+                boolean loops = false;
+                for(int y = 0; y<pathLength && !loops; y++){
+                    loops = visited[path[y]] == visitedStamp;
+                    visited[path[y]] = visitedStamp;
+                    if(onRoutes[path[y]] == onRoutesStamp)
+                        onEarlier++;
+                }
+                if(loops || (routes > 0 && onEarlier > shared*pathLength))
+                    continue;
+                found[routes++] = Arrays.copyOf(path, pathLength);
+                for(int y = 0; y<pathLength; y++){
+                    onRoutes[path[y]] = onRoutesStamp;
+                }
+            }
+            return Arrays.copyOf(found, routes);
+        }
+
+        /**
+         * Runs both searches, remembering the signal the shortest route meets at. They go on until they are further than the shortest
+         * route found plus the given fraction of it, so that alternatives can be read from them.
+         */
+        private long search(int start, int end, double slack){
+            if(++search == 0){      //the stamps wrapped, forget every old search
+                Arrays.fill(forwardSeen, 0);
+                Arrays.fill(backwardSeen, 0);
+                search = 1;
+            }
+            forwardHeap.clear();
+            backwardHeap.clear();
+            forwardCount = 0;
+            reach(forward, forwardParent, forwardSeen, forwardHeap, start, 0, -1);
+            reach(backward, backwardParent, backwardSeen, backwardHeap, end, 0, -1);
+            long best = UNREACHED;
+            long bound = UNREACHED;
+            meeting = -1;
+            while(true){
+                boolean forwardDone = forwardHeap.isEmpty() || forwardHeap.topKey() >= bound;
+                boolean backwardDone = backwardHeap.isEmpty() || backwardHeap.topKey() >= bound;
+                if(forwardDone && backwardDone)
+                    break;
+                boolean forwardTurn = !forwardDone && (backwardDone || forwardHeap.topKey() <= backwardHeap.topKey());
+                if(forwardTurn){
+                    long d = forwardHeap.topKey();
+                    int v = forwardHeap.pop();
+                    if(d > forward[v])
+                        continue;   //queued again with a shorter distance since
+                    if(backwardSeen[v] == search && d + backward[v] < best){
+                        best = d + backward[v];
+                        meeting = v;
+                    }
+                    if(stalled(forward, forwardSeen, downStart, downFrom, downWeight, v, d))
+                        continue;
+                    for(int x = upStart[v]; x<upStart[v+1]; x++){
+                        reach(forward, forwardParent, forwardSeen, forwardHeap, upTo[x], d + upWeight[x], v);
+                    }
+                }
+                else{
+                    long d = backwardHeap.topKey();
+                    int v = backwardHeap.pop();
+                    if(d > backward[v])
+                        continue;
+                    if(forwardSeen[v] == search && d + forward[v] < best){
+                        best = d + forward[v];
+                        meeting = v;
+                    }
+                    if(stalled(backward, backwardSeen, upStart, upTo, upWeight, v, d))
+                        continue;
+                    for(int x = downStart[v]; x<downStart[v+1]; x++){
+                        reach(backward, backwardParent, backwardSeen, backwardHeap, downFrom[x], d + downWeight[x], v);
+                    }
+                }
+                if(best != UNREACHED)
+                    bound = slack == 0 ? best : best + (long)(best*slack) + 1;
+            }
+            return best;
+        }
+
+        /**
+         * Appends the route that goes up from the start to the given signal and down from it to the end, unpacking the shortcuts.
+         */
+        private void appendVia(int start, int end, int via){
+            int hops = 0;
+            for(int v = via; v != start; v = forwardParent[v]){
+                if(hops == chain.length)
+                    chain = Arrays.copyOf(chain, hops*2);
+                chain[hops++] = v;
+            }
+            append(start);
+            int from = start;
+            while(hops > 0){
+                int to = chain[--hops];
+                unpack(from, to);
+                from = to;
+            }
+            for(int v = via; v != end; v = backwardParent[v]){
+                unpack(v, backwardParent[v]);
+            }
+        }
+
+        /**
+         * This method returns a signal of the last route found.
+         * @param index The place of the signal on the route, 0 is the start.
+         * @return The signal.
+         * @author Erik Clary
+         * @since 1.32b
+         */
+        TrafficSignal signalAt(int index){
+            return graph.signal(path[index]);
+        }
+
+        /**
+         * Returns true if a signal was reached more quickly through a higher ranked signal that has an edge down to it, its shortest
+         * route does not go up through it so its edges are not searched.
+         */
+        private boolean stalled(long[] distance, int[] seen, int[] start, int[] higher, int[] weight, int v, long d){
+            for(int x = start[v]; x<start[v+1]; x++){
+                int u = higher[x];
+                if(seen[u] == search && distance[u] + weight[x] < d)
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Updates a signal's distance in one direction of the search if the new one is shorter.
+         */
+        private void reach(long[] distance, int[] parent, int[] seen, Heap heap, int v, long d, int from){
+            if(seen[v] == search){
+                if(distance[v] <= d)
+                    return;
+            }
+            else if(seen == forwardSeen){
+                forwardTouched[forwardCount++] = v;
+            }
+            seen[v] = search;
+            distance[v] = d;
+            parent[v] = from;
+            heap.push(d, v);
+        }
+
+        /**
+         * Appends the signals after from up to and including to, expanding every shortcut between them.
+         */
+        private void unpack(int from, int to){
+            int top = pushPair(0, from, to);
+            while(top > 0){
+                int b = stack[--top];
+                int a = stack[--top];
+                int middle = middleOf(a, b);
+                if(middle < 0){
+                    append(b);
+                }
+                else{
+                    top = pushPair(top, middle, b);
+                    top = pushPair(top, a, middle);
+                }
+            }
+        }
+
+        private int pushPair(int top, int a, int b){
+            if(top+2 > stack.length)
+                stack = Arrays.copyOf(stack, Math.max(stack.length*2, top+2));
+            stack[top] = a;
+            stack[top+1] = b;
+            return top+2;
+        }
+
+        private void append(int v){
+            if(pathLength == path.length)
+                path = Arrays.copyOf(path, path.length*2);
+            path[pathLength++] = v;
+        }
+    }
+
+    /**
+     * The growable edge list of one signal while the graph is contracted.
+     */
+    private static final class Edges {
+        private int[] node = new int[4];
+        private int[] weight = new int[4];
+        private int[] middle = new int[4];
+        private int size;
+
+        private int indexOf(int v){
+            for(int x = 0; x<size; x++){
+                if(node[x] == v)
+                    return x;
+            }
+            return -1;
+        }
+
+        private void remove(int v){
+            int x = indexOf(v);
+            size--;
+            node[x] = node[size];
+            weight[x] = weight[size];
+            middle[x] = middle[size];
+        }
+
+        private void add(int v, int w, int m){
+            if(size == node.length){
+                node = Arrays.copyOf(node, size*2);
+                weight = Arrays.copyOf(weight, size*2);
+                middle = Arrays.copyOf(middle, size*2);
+            }
+            node[size] = v;
+            weight[size] = w;
+            middle[size] = m;
+            size++;
+        }
+    }
+
+    /**
+     * A bounded search over the signals not yet contracted, for a route between two neighbours of the signal being contracted that
+     * does not pass through it and is no longer than the route through it. It stops once every exit of the signal being contracted
+     * is settled, or the routes grow longer than the longest route through it.
+     */
+    private static final class Witness {
+        private final long[] distance;
+        private final int[] seen;
+        private final int[] target;     //by id: equal to search if the signal is an exit still to be settled
+        private final Heap heap;
+        private int search;
+
+        private Witness(int n){
+            distance = new long[n];
+            seen = new int[n];
+            target = new int[n];
+            heap = new Heap(n);
+        }
+
+        private void search(int start, int avoid, long limit, Edges[] out){
+            search++;
+            int targets = 0;
+            for(int x = 0; x<out[avoid].size; x++){
+                int to = out[avoid].node[x];
+                if(to != start && target[to] != search){
+                    target[to] = search;
+                    targets++;
+                }
+            }
+            heap.clear();
+            seen[start] = search;
+            distance[start] = 0;
+            heap.push(0, start);
+            int settled = 0;
+            while(targets > 0 && !heap.isEmpty() && settled < WITNESS_SETTLE_LIMIT){
+                long d = heap.topKey();
+                int v = heap.pop();
+                if(d > distance[v])
+                    continue;
+                if(d > limit)
+                    break;
+                settled++;
+                if(target[v] == search){
+                    target[v] = 0;
+                    targets--;
+                }
+                for(int x = 0; x<out[v].size; x++){
+                    int to = out[v].node[x];
+                    if(to == avoid)
+                        continue;
+                    long nd = d + out[v].weight[x];
+                    if(seen[to] != search || nd < distance[to]){
+                        seen[to] = search;
+                        distance[to] = nd;
+                        heap.push(nd, to);
+                    }
+                }
+            }
+        }
+
+        private long distance(int v){
+            return seen[v] == search ? distance[v] : UNREACHED;
+        }
+    }
+
+    /**
+     * A binary min heap of signal ids by long keys. A signal can be in it more than once, the searches skip the stale entries.
+     */
+    private static final class Heap {
+        private long[] keys;
+        private int[] nodes;
+        private int size;
+
+        private Heap(int capacity){
+            keys = new long[Math.max(16, capacity)];
+            nodes = new int[keys.length];
+        }
+
+        private boolean isEmpty(){
+            return size == 0;
+        }
+
+        private void clear(){
+            size = 0;
+        }
+
+        private long topKey(){
+            return keys[0];
+        }
+
+        private void push(long key, int node){
+            if(size == keys.length){
+                keys = Arrays.copyOf(keys, size*2);
+                nodes = Arrays.copyOf(nodes, size*2);
+            }
+            int at = size++;
+            while(at > 0){
+                int parent = (at-1)>>>1;
+                if(keys[parent] <= key)
+                    break;
+                keys[at] = keys[parent];
+                nodes[at] = nodes[parent];
+                at = parent;
+            }
+            keys[at] = key;
+            nodes[at] = node;
+        }
+
+        private int pop(){
+            int top = nodes[0];
+            size--;
+            long key = keys[size];
+            int node = nodes[size];
+            int at = 0;
+            while(true){
+                int child = 2*at+1;
+                if(child >= size)
+                    break;
+                if(child+1 < size && keys[child+1] < keys[child])
+                    child++;
+                if(keys[child] >= key)
+                    break;
+                keys[at] = keys[child];
+                nodes[at] = nodes[child];
+                at = child;
+            }
+            keys[at] = key;
+            nodes[at] = node;
+            return top;
+        }
+    }
+}
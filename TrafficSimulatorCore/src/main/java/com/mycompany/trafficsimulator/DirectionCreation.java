@@ -0,0 +1,103 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Direction Creation is a class that encapsulates the algorithm that creates 
+ * directions for the Car class to use.
+ * 
+ * 
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.0a
+ * <p> <b>Date Created: </b>October 3, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.00a | 10/03/2016: Initial commit </li> 
+ *          <li> 1.05a | 11/07/2016: Created getDirections method & algorithm</li>
+ *          <li> 1.08a | 11/14/2016: Added functionality for Chris' change from string finding on traffic signals to passing the object</li>
+ *          <li> 1.09a | 11/23/2016: Continued balancing direction length. </li>
+ *          <li> 1.24b | 10/18/2026: Routes over the map's SignalGraph, the exits of each point are sorted in a reused buffer instead of in
+ *                                   the signal group's own list.</li>
+ *          <li> 1.32b | 10/18/2026: The directions are the shortest route by travel time, queried from the map's ContractionHierarchy,
+ *                                   instead of a random walk towards the end point that gave up after 10 signals.</li>
+ *          <li> 1.33b | 10/18/2026: The directions are picked from the map's RouteCache: a few alternative routes are found once for each
+ *                                   pair of start and end points, and each car is given one of them at random.</li>
+ *          <li> 1.34b | 10/18/2026: Added getDirections with a SplittableRandom, for cars that each draw from their own stream.</li>
+ *      </ul>
+ */
+public class DirectionCreation {
+    private final Random rng;
+    private Map routedMap;                          //the map query was made for
+    private ContractionHierarchy.Query query;       //reused for every route set found on that map
+    private RouteCache routes;                      //the map's route sets
+    
+    /**
+     * Constructor for this class, accepts a seed for the Random
+     * Number Generator used in this class.
+     * 
+     * @param seed          value of the seed to be used in the random 
+     *                      number generation
+     * @author Erik Clary
+     * @since 1.0a
+     */
+    public DirectionCreation(int seed){
+        rng = new Random(seed);
+    }
+    
+    /**
+     * This method generates a list of directions for a Car to follow based on the map and a start point and endpoint.
+     * The directions are one of the routes from the start point to the end point in the map's route cache, picked at random with the
+     * routes that take a regular car the least time on the roads picked more often. Every signal on it is an exit of the one before,
+     * and no signal is visited twice. If the end point can not be reached from the start point, the directions are only the start point
+     * and the car leaves the map there.
+     * 
+     * @param map           The map to create directions off of.
+     * @param startPoint    The point where you want the directions to start.
+     * @param endPoint      The point where you want the directions to stop.
+     * @return              A queue of directions as TrafficSignal for a car to follow.
+     * @see Car
+     * @since 1.05a
+     */
+    public Queue<TrafficSignal> getDirections(Map map, TrafficSignal startPoint, TrafficSignal endPoint){
+        return route(map, startPoint, endPoint, rng::nextDouble);
+    }
+    
+    /**
+     * This method generates a list of directions the same way as getDirections without a stream, but picks the route with the given
+     * stream instead of this class' own Random. A DirectionCreation may only be used by one thread at a time.
+     * 
+     * @param map           The map to create directions off of.
+     * @param startPoint    The point where you want the directions to start.
+     * @param endPoint      The point where you want the directions to stop.
+     * @param stream        The stream the route is picked with, the car's own.
+     * @return              A queue of directions as TrafficSignal for a car to follow.
+     * @see CarGenerator
+     * @author Erik Clary
+     * @since 1.34b
+     */
+    public Queue<TrafficSignal> getDirections(Map map, TrafficSignal startPoint, TrafficSignal endPoint, SplittableRandom stream){
+        return route(map, startPoint, endPoint, stream::nextDouble);
+    }
+    
+    /**
+     * Picks one of the routes of the pair from the map's route cache, drawing from the given doubles.
+     */
+    private Queue<TrafficSignal> route(Map map, TrafficSignal startPoint, TrafficSignal endPoint, DoubleSupplier draws){
+        if(map != routedMap){
+            query = map.getRouter().newQuery();
+            routes = map.getRouteCache();
+            routedMap = map;
+        }
+        TrafficSignal[] route = routes.get(startPoint.getId(), endPoint.getId(), query).pick(draws);
+        Queue<TrafficSignal> directions = new ArrayDeque<>(route.length);
+        Collections.addAll(directions, route);
+        return directions;
+    }
+}
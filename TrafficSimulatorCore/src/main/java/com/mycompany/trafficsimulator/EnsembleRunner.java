@@ -0,0 +1,389 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * EnsembleRunner runs the same network many times with different seeds, one Map per seed, across a fork-join pool.
+ * Each run's average wait per traffic signal is one sample; the samples are merged as runs finish, and the ensemble can stop
+ * early once the 95% confidence interval on every signal's average wait is narrower than a target.
+ * <p> Runs are merged in seed order: a run that finishes before an earlier seed waits to be merged until that seed is done, so the
+ * result only depends on the seeds and the stopping target, never on which thread finished first.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.18b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.18b | 10/18/2026: Initial commit </li>
+ *          <li> 1.21b | 10/18/2026: Each run generates its cars as it spawns them and recycles the ones that finish.</li>
+ *          <li> 1.29b | 10/18/2026: The waits of every run are merged into one WaitStatistics per signal, for the pooled percentiles.</li>
+ *          <li> 1.36b | 10/18/2026: The runs still in progress when the ensemble stops are asked to stop before their next second, instead
+ *                                   of running to the end to be discarded. The default duration is Map.DEFAULT_DURATION.</li>
+ *      </ul>
+ */
+public class EnsembleRunner {
+    private static final int SEED_STEP = 0x9E3779B9;    //seeds are spread out by the golden ratio so neighbouring runs share no streams
+    private static final int MIN_RUNS = 3;              //the least runs merged before the ensemble may stop early
+
+    //two sided 95% Student t values for 1 to 30 degrees of freedom, 1.96 is used after that
+    private static final double[] T_95 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+                                          2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+                                          2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final ReadExcel network;
+    private final int cars;
+    private final int duration;
+    private int engineMode = Map.TIME_STEPPED;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private RunResult[] finished;       //by run index, a run sits here until every earlier run is merged
+    private int mergedRuns;
+    private volatile boolean stopped;
+    private final ArrayList<Map> runningMaps = new ArrayList<>();  //the maps of the runs in progress, guarded by this runner's lock
+    private double targetHalfWidth;
+    private String[] identifiers;
+    private String[] roadNames;
+    private int[] signalTypes;
+    private long[] samples;             //per signal: runs in which at least one car went through it
+    private double[] mean;              //per signal: running mean of the per run average wait (Welford)
+    private double[] sumSquares;        //per signal: running sum of squared differences from the mean (Welford)
+    private long[] carsThrough;         //per signal: cars through it over all merged runs
+    private WaitStatistics[] waits;     //per signal: the waits of every car through it over all merged runs
+
+    /**
+     * Constructor for this class.
+     *
+     * @param network   A reader that has already been run, every run builds its own map from it with newMap.
+     * @param cars      The amount of cars in each run, -1 for the map's car curve.
+     * @param duration  The simulated seconds of each run, -1 for the map's default.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public EnsembleRunner(ReadExcel network, int cars, int duration){
+        this.network = network;
+        this.cars = cars;
+        this.duration = duration;
+    }
+
+    /**
+     * Sets the engine each run's map uses, see Map.setEngineMode.
+     * @param mode  Map.TIME_STEPPED or Map.DISCRETE_EVENT
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public void setEngineMode(int mode){
+        engineMode = mode;
+    }
+
+    /**
+     * Sets how many runs are run at once, it defaults to the number of available processors. Each run's map runs on a single worker.
+     * @param runsAtOnce    The parallelism of the fork-join pool, at least 1.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public void setParallelism(int runsAtOnce){
+        if(runsAtOnce < 1)
+            throw new IllegalArgumentException("An ensemble needs at least one run at once, got " + runsAtOnce);
+        parallelism = runsAtOnce;
+    }
+
+    /**
+     * Returns the seed of the given run, run 0 uses the base seed itself so it matches a single BatchRunner run.
+     * @param baseSeed  The seed of the first run.
+     * @param run       The index of the run.
+     * @return The seed that run generates its cars with.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public static int seedOf(int baseSeed, int run){
+        return baseSeed + run*SEED_STEP;
+    }
+
+    /**
+     * Runs the ensemble and blocks until it is finished.
+     *
+     * @param baseSeed          The seed of the first run, see seedOf.
+     * @param maxRuns           The most runs to make.
+     * @param targetHalfWidth   Stop once every signal's 95% confidence interval half width, in seconds, is at most this. 0 or less never stops early.
+     * @return The amount of runs that were merged.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public int run(int baseSeed, int maxRuns, double targetHalfWidth){
+        this.targetHalfWidth = targetHalfWidth;
+        finished = new RunResult[maxRuns];
+        mergedRuns = 0;
+        stopped = false;
+        identifiers = null;
+
+        ArrayList<Scenario> scenarios = new ArrayList<>();
+        for(int x = 0; x<maxRuns; x++)
+            scenarios.add(new Scenario(x, seedOf(baseSeed, x)));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try{
+            pool.invoke(new RecursiveAction(){
+                @Override
+                protected void compute(){
+                    ForkJoinTask.invokeAll(scenarios);
+                }
+            });
+        }finally{
+            pool.shutdown();
+        }
+        return mergedRuns;
+    }
+
+    /**
+     * Called by a scenario's worker when its run is done, merges every run that is now next in seed order.
+     */
+    private synchronized void runFinished(int index, RunResult result){
+        finished[index] = result;
+        while(!stopped && mergedRuns < finished.length && finished[mergedRuns] != null){
+            merge(finished[mergedRuns]);
+            finished[mergedRuns] = null;
+            mergedRuns++;
+            if(targetHalfWidth > 0 && mergedRuns >= MIN_RUNS && getWidestHalfWidth() <= targetHalfWidth)
+                stopped = true;     //scenarios that have not started yet return at once, the ones running stop and are discarded
+        }
+        if(stopped){
+            for(Map e: runningMaps){
+                e.requestStop();
+            }
+        }
+    }
+
+    /**
+     * Called by a scenario's worker before its map runs. Returns false if the ensemble has stopped and the run should not start.
+     */
+    private synchronized boolean runStarting(Map map){
+        if(stopped)
+            return false;
+        runningMaps.add(map);
+        return true;
+    }
+
+    private synchronized void runEnded(Map map){
+        runningMaps.remove(map);
+    }
+
+    private void merge(RunResult result){
+        if(identifiers == null){
+            identifiers = result.identifiers;
+            roadNames = result.roadNames;
+            signalTypes = result.signalTypes;
+            samples = new long[identifiers.length];
+            mean = new double[identifiers.length];
+            sumSquares = new double[identifiers.length];
+            carsThrough = new long[identifiers.length];
+            waits = new WaitStatistics[identifiers.length];
+            for(int x = 0; x<identifiers.length; x++){
+                waits[x] = new WaitStatistics(true);
+            }
+        }
+        for(int x = 0; x<identifiers.length; x++){
+            carsThrough[x] += result.carsThrough[x];
+            waits[x].merge(result.waits[x]);
+            if(result.carsThrough[x] == 0)
+                continue;   //no car went through this signal, its average wait is not a sample
+            samples[x]++;
+            double delta = result.averageWait[x] - mean[x];
+            mean[x] += delta/samples[x];
+            sumSquares[x] += delta*(result.averageWait[x] - mean[x]);
+        }
+    }
+
+    private double halfWidth(int signal){
+        long n = samples[signal];
+        if(n < 2)
+            return Double.POSITIVE_INFINITY;
+        double t = n-1 <= T_95.length ? T_95[(int)(n-2)] : 1.96;
+        return t*Math.sqrt(sumSquares[signal]/(n-1)/n);
+    }
+
+    /**
+     * Returns the widest 95% confidence interval half width over the signals that have had cars through them.
+     * Only call this method after run() has completed.
+     * @return The widest half width in seconds, infinite while a used signal has fewer than 2 samples or no run was merged.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public synchronized double getWidestHalfWidth(){
+        if(identifiers == null)
+            return Double.POSITIVE_INFINITY;
+        double widest = 0;
+        for(int x = 0; x<identifiers.length; x++){
+            if(samples[x] > 0)
+                widest = Math.max(widest, halfWidth(x));
+        }
+        return widest;
+    }
+
+    /**
+     * Returns the merged statistics of every traffic signal, in the map's signal order.
+     * Only call this method after run() has completed.
+     * @return One summary per traffic signal, empty if no run was merged.
+     * @author Erik Clary
+     * @since 1.18b
+     */
+    public synchronized ArrayList<SignalSummary> getSignalSummaries(){
+        ArrayList<SignalSummary> summaries = new ArrayList<>();
+        if(identifiers == null)
+            return summaries;
+        for(int x = 0; x<identifiers.length; x++){
+            summaries.add(new SignalSummary(identifiers[x], roadNames[x], signalTypes[x], samples[x], carsThrough[x],
+                    samples[x] == 0 ? Double.NaN : mean[x], halfWidth(x), waits[x]));
+        }
+        return summaries;
+    }
+
+    /**
+     * Builds, fills and runs one map, returning only its per signal results so the map can be collected. Returns null if the ensemble
+     * stopped before the run finished, its map is stopped between two seconds.
+     */
+    private RunResult runOne(int seed){
+        Map map = network.newMap();
+        if(cars != -1 || duration != -1)
+            map.userSettings(cars == -1 ? map.getTotalCarsNeeded() : cars, duration == -1 ? Map.DEFAULT_DURATION : duration);
+        map.setEngineMode(engineMode);
+        map.setWorkerCount(1);      //the ensemble is parallel across runs, each run is sequential
+        map.setCarRecycling(true);  //only the signals' results are kept, no run holds more cars than it has in the map at once
+        map.setCarSource(new CarGenerator(seed));
+        map.addInitialCars(new LinkedList<>());
+        if(!runStarting(map))
+            return null;
+        try{
+            map.run();
+        }finally{
+            runEnded(map);
+        }
+        return stopped ? null : new RunResult(map.getTrafficSignals());
+    }
+
+    /**
+     * One seed of the ensemble as a fork-join task.
+     */
+    private final class Scenario extends RecursiveAction {
+        private final int index;
+        private final int seed;
+
+        private Scenario(int index, int seed){
+            this.index = index;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute(){
+            if(stopped)
+                return;
+            RunResult result = runOne(seed);
+            if(result != null)
+                runFinished(index, result);
+        }
+    }
+
+    /**
+     * The per signal results of one finished run.
+     */
+    private static final class RunResult {
+        private final String[] identifiers;
+        private final String[] roadNames;
+        private final int[] signalTypes;
+        private final int[] carsThrough;
+        private final double[] averageWait;
+        private final WaitStatistics[] waits;
+
+        private RunResult(ArrayList<TrafficSignal> signals){
+            int n = signals.size();
+            identifiers = new String[n];
+            roadNames = new String[n];
+            signalTypes = new int[n];
+            carsThrough = new int[n];
+            averageWait = new double[n];
+            waits = new WaitStatistics[n];
+            for(int x = 0; x<n; x++){
+                TrafficSignal e = signals.get(x);
+                identifiers[x] = e.getIdentifier();
+                roadNames[x] = e.getSourceRoad().getName();
+                signalTypes[x] = e.getSignalType();
+                carsThrough[x] = e.getTotalCarsThrough();
+                averageWait[x] = e.getAverageWaitTime();
+                waits[x] = e.getWaitStatistics();
+            }
+        }
+    }
+
+    /**
+     * The merged statistics of one traffic signal over the ensemble.
+     */
+    public static final class SignalSummary {
+        private final String identifier;
+        private final String roadName;
+        private final int signalType;
+        private final long samples;
+        private final long carsThrough;
+        private final double meanWait;
+        private final double halfWidth;
+        private final WaitStatistics waits;
+
+        private SignalSummary(String identifier, String roadName, int signalType, long samples, long carsThrough, double meanWait, double halfWidth,
+                WaitStatistics waits){
+            this.identifier = identifier;
+            this.roadName = roadName;
+            this.signalType = signalType;
+            this.samples = samples;
+            this.carsThrough = carsThrough;
+            this.meanWait = meanWait;
+            this.halfWidth = halfWidth;
+            this.waits = waits;
+        }
+
+        public String getIdentifier(){
+            return identifier;
+        }
+
+        public String getRoadName(){
+            return roadName;
+        }
+
+        public int getSignalType(){
+            return signalType;
+        }
+
+        /**
+         * @return The amount of runs in which at least one car went through this signal.
+         */
+        public long getSamples(){
+            return samples;
+        }
+
+        public long getCarsThrough(){
+            return carsThrough;
+        }
+
+        /**
+         * @return The mean over the runs of this signal's average wait, NaN if no car ever went through it.
+         */
+        public double getMeanWait(){
+            return meanWait;
+        }
+
+        /**
+         * @return The half width of the 95% confidence interval on the mean wait, infinite with fewer than 2 samples.
+         */
+        public double getHalfWidth(){
+            return halfWidth;
+        }
+
+        /**
+         * @return The waits of every car through this signal over all merged runs, with percentiles. They are the ensemble's own.
+         */
+        public WaitStatistics getWaitStatistics(){
+            return waits;
+        }
+    }
+}
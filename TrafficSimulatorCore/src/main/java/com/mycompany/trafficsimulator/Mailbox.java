@@ -0,0 +1,111 @@
+package com.mycompany.trafficsimulator;
+
+/**
+ * The Mailbox class carries cars from one partition of the map to another during a tick. Each mailbox has exactly one writer (the source
+ * partition's thread) and is only read after the tick barrier by the target partition's thread, so it needs no locks: the barrier publishes
+ * its contents.
+ * <br>
+ * Every message is tagged with the index of the signal that released the car. The source partition posts in ascending signal order, so
+ * the target can merge its mailboxes back into the order the sequential run would have handed the cars off in. The arrays only grow, a
+ * mailbox that has held the most cars a tick hands off allocates nothing after.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.15b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.15b | 10/18/2026: Initial commit </li>
+ *          <li> 1.36b | 10/18/2026: Posted to by the releasing signal's worker as the signal acts, in place of the signals' tagged inbound
+ *                                   queues.</li>
+ *      </ul>
+ */
+class Mailbox {
+    private int[] sources;
+    private Car[] cars;
+    private TrafficSignal[] targets;
+    private int size;
+
+    /**
+     * Constructor for this class, creates an empty mailbox.
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    Mailbox(){
+        sources = new int[16];
+        cars = new Car[16];
+        targets = new TrafficSignal[16];
+        size = 0;
+    }
+
+    /**
+     * This method posts a car to this mailbox.
+     *
+     * @param source    The index of the signal that released the car, must not be lower than the previous message's.
+     * @param car       The car being moved.
+     * @param target    The signal the car is moving to.
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    void post(int source, Car car, TrafficSignal target){
+        if(size == cars.length){
+            int grown = size*2;
+            int[] newSources = new int[grown];
+            Car[] newCars = new Car[grown];
+            TrafficSignal[] newTargets = new TrafficSignal[grown];
+            System.arraycopy(sources, 0, newSources, 0, size);
+            System.arraycopy(cars, 0, newCars, 0, size);
+            System.arraycopy(targets, 0, newTargets, 0, size);
+            sources = newSources;
+            cars = newCars;
+            targets = newTargets;
+        }
+        sources[size] = source;
+        cars[size] = car;
+        targets[size] = target;
+        size++;
+    }
+
+    int size(){
+        return size;
+    }
+
+    Car getCar(int message){
+        return cars[message];
+    }
+
+    TrafficSignal getTarget(int message){
+        return targets[message];
+    }
+
+    /**
+     * This method empties the mailbox, it should be called by the reader once every message has been delivered.
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    void clear(){
+        for(int x = 0; x<size; x++){
+            cars[x] = null;
+            targets[x] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * This method finds, among the given mailboxes, the one whose next unread message was released by the lowest signal index.
+     *
+     * @param boxes     The mailboxes to merge.
+     * @param read      The amount of messages already read from each mailbox.
+     * @return The index of the mailbox to read from next, -1 once every message has been read.
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    static int nextInOrder(Mailbox[] boxes, int[] read){
+        int next = -1;
+        for(int x = 0; x<boxes.length; x++){
+            if(read[x] < boxes[x].size && (next == -1 || boxes[x].sources[read[x]] < boxes[next].sources[read[next]]))
+                next = x;
+        }
+        return next;
+    }
+}
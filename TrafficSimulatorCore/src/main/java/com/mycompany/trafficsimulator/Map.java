@@ -0,0 +1,1359 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The Map class contains all the actors for the Traffic Simulation. It also contains the 
+ * logic for the simulation's execution. It should be noted that this class is the stage that
+ * other classes reference.
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.03a
+ * <p> <b>Date Created: </b>November 1, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.03a | 11/01/2016:    Initial commit </li> 
+ *          <li> 1.04a | 11/02/2016:    Added supporting methods, run, and made Map a runnable </li> 
+ *          <li> 1.05a | 11/07/2016:    Added javadoc, finished map's execution logic, added metric pull methods</li>
+ *          <li> 1.07a | 11/09/2016:    Added supporting methods getTotalCarsNeeded and getRandomPoint for use in creation logic.
+ *                                      Shifted the addition of cars to the queue outside of the constructor into its own method.</li>
+ *          <li> 1.08a | 11/14/2016:    Changed car curve equation to something more managable for testing. **on average needs to be around 63,000</li>
+ *          <li> 1.09a | 11/23/2016:    Added heavy multithreading support and fixed handoff bugs.</li>
+ *          <li> 1.10b | 11/27/2016:    Added user controls, and the ability to utilize custom car and time allotments in this class' runtime.
+ *          <li> 1.11b | 10/18/2026:    Replaced the per-second thread pool with a persistent TickEngine that runs the Car, SignalGroup and
+ *                                      TrafficSignal phases behind a reusable barrier. Added getTicksPerSecond.</li>
+ *          <li> 1.12b | 10/18/2026:    Phases are split into cost-balanced chunks, added setChunkCost and getChunkReport for tuning.</li>
+ *          <li> 1.13b | 10/18/2026:    Added the DISCRETE_EVENT engine mode, where car arrivals are scheduled in a calendar queue and cars
+ *                                      do not act while travelling or waiting.</li>
+ *          <li> 1.14b | 10/18/2026:    Idle seconds (no cars waiting, arriving or spawning) are skipped, jumping the clock to the next second
+ *                                      where something happens. Ticks per second now counts simulated seconds.</li>
+ *          <li> 1.15b | 10/18/2026:    The signal groups are split into one partition per worker. The signal run section is run in parallel,
+ *                                      each partition moving the outgoing cars of its own signals, cars crossing to another partition go
+ *                                      through a mailbox that is delivered after the barrier in the sequential order.</li>
+ *          <li> 1.16b | 10/18/2026:    Cars are handed off by the worker that released them, during the TrafficSignal phase, into their next
+ *                                      signal's inbound queue. The partitions deliver their signals' inbound queues in release order, replacing
+ *                                      the partition mailboxes.</li>
+ *          <li> 1.17b | 10/18/2026:    Moved to the JavaFX free core module. Added setWorkerCount for headless runs on shared machines.</li>
+ *          <li> 1.19b | 10/18/2026:    Added periodic and on demand checkpoints of the whole map between seconds, written by a background
+ *                                      thread, and resumeFrom, which continues a run from a checkpoint exactly as if it had not stopped.</li>
+ *          <li> 1.20b | 10/18/2026:    Added setCarStore: the time stepped engine can keep the running cars' per tick state in a CarStore and
+ *                                      act them in blocks of slots instead of one car at a time.</li>
+ *          <li> 1.21b | 10/18/2026:    Added setCarRecycling and setCarSource: despawned cars can be kept as trip records and their Car reset
+ *                                      and spawned again, with new cars generated as they are needed. Added getTripRecords.</li>
+ *          <li> 1.22b | 10/18/2026:    The running cars are a RunningCars set, a despawned car is removed in constant time instead of being
+ *                                      searched for in a list.</li>
+ *          <li> 1.23b | 10/18/2026:    Signals are indexed by their dense int id instead of binary searched by identifier. The hand off,
+ *                                      activation and spawn paths index the signal list directly, and a next direction is checked against
+ *                                      the groups each signal belongs to, built once by id.</li>
+ *          <li> 1.24b | 10/18/2026:    The exits of every signal are a SignalGraph built once in the constructor. verifyNextDirection and
+ *                                      getExitsOf read it instead of scanning the groups, and DirectionCreation routes over it.</li>
+ *          <li> 1.25b | 10/18/2026:    The signals to activate are read from each group's compiled schedule, and skipped seconds move the
+ *                                      groups through their cycle at once. Checkpoints are version 2.</li>
+ *          <li> 1.26b | 10/18/2026:    Signal groups are woken from a TimingWheel only on the seconds their phase changes, instead of acting
+ *                                      every second. A signal stays flagged for its whole green window, the groups are no longer a phase
+ *                                      of the tick engine.</li>
+ *          <li> 1.29b | 10/18/2026:    Checkpoints are version 3, the signals' and cars' waits are written as WaitStatistics.</li>
+ *          <li> 1.31b | 10/18/2026:    Checkpoints are version 4, cars write their time alive and arrival tick as ints.</li>
+ *          <li> 1.32b | 10/18/2026:    Added getRouter, the ContractionHierarchy of the signal graph, built the first time a route is asked for.</li>
+ *          <li> 1.33b | 10/18/2026:    Added getRouteCache, the route sets of every pair of signals DirectionCreation has routed between.</li>
+ *          <li> 1.34b | 10/18/2026:    requestMoreCars takes its cars from a CarGenerator of its own instead of a shared Random. Checkpoints are
+ *                                      version 5, they write how many cars the generator has made instead of the Random, and resumeFrom
+ *                                      moves the car source to that place. Added getRandomPoint with a SplittableRandom.</li>
+ *          <li> 1.35b | 10/18/2026:    Added setCarLookAhead: the cars can be generated by a CarPipeline on a background thread while the map
+ *                                      runs, instead of all of them before it starts.</li>
+ *          <li> 1.36b | 10/18/2026:    The signals are acted by the worker of the partition that owns them, in a partitioned round, instead of
+ *                                      as a chunked TrafficSignal phase any worker could steal from. Handed off cars go through a Mailbox for
+ *                                      each pair of releasing and owning partitions again, instead of tagged and sorted inbound queues.
+ *                                      Checkpoints are version 6, they write the car generator's seed, and a resumed map checks it against
+ *                                      its car source or seeds its own generator with it. The partitions are cut by the signals' act costs
+ *                                      instead of their count, and cut again every REPARTITION_SECONDS. The signal groups are woken after the
+ *                                      signals release their cars again, so the lights they set are used from the next second on. The
+ *                                      discrete event engine logs cars with a bad next path like the time stepped one. Added requestStop and
+ *                                      DEFAULT_DURATION.</li>
+ *      </ul>
+ */
+public class Map implements Runnable{
+    public static final int TIME_STEPPED = 0;      //every actor acts every second
+    public static final int DISCRETE_EVENT = 1;    //cars are only touched when they arrive at, or are released from, a signal
+    
+    private final ArrayList<SignalGroup> nodes;
+    private final ArrayList<TrafficSignal> signals;
+    private final SignalGraph graph;    //the exits of every signal by id, never changed
+    private ContractionHierarchy router;    //the shortest routes over graph, null until DirectionCreation first needs it
+    private RouteCache routeCache;          //the routes found so far, null until DirectionCreation first needs it
+    private final ArrayList<TrafficSignal> randomPoints; //the signals in the order the map was given them, signals itself is sorted later
+    private final RunningCars runningCars; //constant time add and remove, in no particular order
+    private Queue<Car> spawnCars;       //this cannot be final, it is added to on empty poll.
+    private ArrayList<Car> despawnedCars;
+    private final ArrayList<TripRecord> trips;  //the results of the cars that were recycled when they left the map
+    private CarPool carPool;            //null unless cars are recycled
+    private CarGenerator carSource;     //generates cars when the spawn queue runs out, null to use requestMoreCars' own generator
+    private int currentRunningSecond = 0;
+    private int runEnd;                 //the second the current run stops at, arrivals after it are not scheduled
+    private int rng = 12345;
+    private CarGenerator ownCars;       //requestMoreCars' own generator, seeded with rng, null until it is first needed
+    private int carLookAhead;           //the most cars generated ahead of the clock while running, 0 to generate them when spawned
+    private CarPipeline carPipeline;    //generates cars ahead while the map runs, null if carLookAhead is 0
+    private boolean forceUserOverride;
+    private int userTime;
+    private int userCarAmount;
+    private volatile double ticksPerSecond;
+    private int chunkCost = ChunkScheduler.DEFAULT_CHUNK_COST;
+    private String chunkReport = "";
+    private int engineMode = TIME_STEPPED;
+    private boolean idleFastForward = true;
+    private boolean useCarStore;
+    private CarStore carStore;          //the running cars' per tick state while the time stepped engine runs with a car store, else null
+    private int workerCount = Runtime.getRuntime().availableProcessors();
+    private CalendarQueue<Arrival> arrivals;
+    private TimingWheel phaseChanges;   //the second each signal group next changes the signals it has on, by group id
+    private int[] groupSynced;          //by group id: the second the group's place in its cycle was last brought up to
+    private int[] greenGroups;          //by signal id: the amount of groups that have the signal on
+    private int[] dueGroups;            //the groups handed out by phaseChanges on a second
+    private int[] signalOwner;          //the partition that owns each signal, by index in signals
+    private int[][] ownedSignals;       //the indexes of the signals each partition owns, ascending
+    private Mailbox[][] inboxes;        //[owning partition][releasing partition]: the cars handed off to the owner's signals this second
+    private int[][] delivered;          //[owning partition][releasing partition]: the messages of each inbox delivered so far
+    private ArrayList<Car>[] leavingCars;       //per signal: cars it released this second that left the map, written by the releasing worker
+    
+    private File checkpointFile;
+    private int checkpointInterval;                 //simulated seconds between periodic checkpoints, 0 for on demand only
+    private volatile boolean checkpointRequested;
+    private volatile boolean stopRequested;
+    private int lastCheckpointTick;
+    private CheckpointWriter checkpointWriter;
+    private boolean resumed;
+    
+    private static final int CHECKPOINT_MAGIC = 0x54534350;    //"TSCP"
+    private static final int CHECKPOINT_VERSION = 6;     //2: signal groups write their place in the cycle, 3: waits are written as WaitStatistics,
+                                                            //4: cars write their time alive and arrival tick as ints,
+                                                            //5: the amount of cars generated is written in place of the Random,
+                                                            //6: the car generator's seed is written before the amount
+    
+    private final int CALENDAR_WIDTH = 128; //ticks of car arrivals held in buckets by the discrete event engine, later arrivals overflow
+    private final int REPARTITION_SECONDS = 60; //simulated seconds between cuts of the signal partitions by their act costs
+    
+    //these are the variables for the car creation curve. abs(sin(PERIOD*x))*AMPLITUDE
+    static final int DEFAULT_DURATION = 43200;     //the seconds a run lasts unless the user sets its time, 12 hrs
+    private final int TIMETORUN = DEFAULT_DURATION; //this is the amount of seconds for this method to run. Default = 43200 (12 hrs)
+    private final double AMPLITUDE = 1; //peak number of cars to enter (cars per second)
+    private final double PERIOD = (2*Math.PI)/TIMETORUN; //this has a period of 12 hrs, with peaks at 1/4 and 3/4 of the time (9 and 15)hrs
+    private final double ySHIFT = 1; //this is the base car amount (amount of cars to add each second no matter what)
+    
+    /**
+     *  This is the constructor for Map. It requires two array lists, containing the signal groups and traffic signals in the map.
+     *  It also requires a queue of cars to be inserted into the system, which should be queued to at least the integral of the car curve
+     *  equation, otherwise the map will poll the UI to generate more cars.
+     * 
+     * @param signalGroups      An array list containing all the signal groups(nodes) in the map.
+     * @param trafficSignals    An array list containing all the traffic signals in the map.
+     * @author Erik Clary
+     */
+    public Map(ArrayList<SignalGroup> signalGroups, ArrayList<TrafficSignal> trafficSignals){
+        nodes = signalGroups;
+        signals = trafficSignals;
+        randomPoints = new ArrayList<>(trafficSignals);
+        graph = new SignalGraph(trafficSignals, signalGroups);
+        runningCars = new RunningCars();
+        despawnedCars = new ArrayList();
+        trips = new ArrayList<>();
+        forceUserOverride = false;
+    }
+    
+    /**
+     * This will insert the initial queue of cars for the map to use; this should be called before the Map is run, otherwise it will automatically request
+     * more cars to run.
+     * @param cars              A queue of cars to pull from and insert into the system.
+     * @since 1.07a
+     * @author Erik Clary
+     */
+    public void addInitialCars(Queue<Car> cars){
+        spawnCars = cars;
+        Collections.sort(signals);
+        indexNetwork();
+    }
+    
+    /**
+     * This method checks that every signal's id is its index in the sorted signal list, so the signals can be looked up by id.
+     * It is called once the signals are sorted.
+     * @throws IllegalStateException if the ids were not given by ReadExcel.
+     * @since 1.23b
+     * @author Erik Clary
+     */
+    private void indexNetwork(){
+        for(int x = 0; x<signals.size(); x++){
+            if(signals.get(x).getId() != x)
+                throw new IllegalStateException("Traffic Signal " + signals.get(x).getIdentifier() + " has id " + signals.get(x).getId()
+                        + " at index " + x + ", signals must be numbered in identifier order by ReadExcel.");
+        }
+    }
+    
+    /**
+     * This method will 
+     * @param carAmount
+     * @param runningTime
+     * @author Erik Clary
+     * @since 1.10b
+     */
+    public void userSettings(int carAmount, int runningTime){
+        forceUserOverride = true;
+        userCarAmount = carAmount;
+        userTime = runningTime;
+    }
+    
+    /**
+     * This method sets the estimated cost of each chunk of cars that the workers take at once in the Car phase. A Car's act costs 1, a
+     * block of the car store costs the cars it holds. The traffic signals are not chunked, each partition acts the signals it owns and
+     * the partitions are cut by the signals' act costs instead. Call this method before the map is run.
+     * @param cost  The cost each chunk should add up to, default 256.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    public void setChunkCost(int cost){
+        chunkCost = cost;
+    }
+    
+    /**
+     * This method selects the engine that runs the map. Both engines produce the same results.
+     * <ul>
+     *      <li>TIME_STEPPED: every car, signal group and traffic signal acts every second.</li>
+     *      <li>DISCRETE_EVENT: each car's arrival at its next signal is scheduled in a calendar queue, a car costs nothing while it travels
+     *          or waits, its timers are worked out when it is released.</li>
+     * </ul>
+     * Call this method before the map is run.
+     * @param mode  TIME_STEPPED or DISCRETE_EVENT
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    public void setEngineMode(int mode){
+        if(mode != TIME_STEPPED && mode != DISCRETE_EVENT)
+            throw new IllegalArgumentException("Unknown engine mode " + mode);
+        engineMode = mode;
+    }
+    
+    /**
+     * This method turns the skipping of idle seconds on or off, it is on by default. A second is idle when no cars are waiting at any signal,
+     * no car reaches a signal and no car is spawned; the map then jumps straight to the next second where one of those happens, bringing
+     * the travelling cars and the signal groups' phases up to date. Results are the same either way.
+     * Call this method before the map is run.
+     * @param enabled   True to skip idle seconds.
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    public void setIdleFastForward(boolean enabled){
+        idleFastForward = enabled;
+    }
+    
+    /**
+     * This method turns the car store on or off, it is off by default. With the store on, the time stepped engine keeps the status and timers
+     * of the running cars in parallel arrays and the Car phase scans them block by block, the cars themselves are only touched when they
+     * reach a signal. Results are the same either way. It has no effect on the discrete event engine, whose cars do not act every second.
+     * Call this method before the map is run.
+     * @param enabled   True to use a car store.
+     * @author Erik Clary
+     * @since 1.20b
+     */
+    public void setCarStore(boolean enabled){
+        useCarStore = enabled;
+    }
+    
+    /**
+     * This method turns the recycling of cars on or off, it is off by default. With recycling on, a car that leaves the map is kept as a
+     * TripRecord and the Car itself is reset and spawned again later, so a long run stops allocating cars once enough are in the pool.
+     * The despawned cars list then stays empty, use getTripRecords for the results. Recycling only saves allocations when the map
+     * generates its cars as it goes, see setCarSource. It can not be used with checkpoints. Call this method before the map is run.
+     * @param enabled   True to recycle cars.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    public void setCarRecycling(boolean enabled){
+        carPool = enabled ? new CarPool() : null;
+    }
+    
+    /**
+     * This method sets the generator the map takes new cars from when its spawn queue is empty. The cars are the ones the generator's
+     * fillQueue would have made, in the same order, so a map given an empty queue and this generator runs the same cars as one given the
+     * filled queue. Call this method before the map is run.
+     * @param generator The generator to take cars from, null to go back to the map's own generator.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    public void setCarSource(CarGenerator generator){
+        carSource = generator;
+    }
+    
+    /**
+     * This method sets how many cars are generated ahead of the clock, it is 0 by default. With a look ahead, a CarPipeline makes the
+     * cars the map takes when its spawn queue is empty on a background thread while the map runs, keeping up to this many ready, so
+     * the map can be given an empty queue and start at once. The cars are the ones requestMoreCars would have made, so results are the
+     * same either way. It can not be used with car recycling. Call this method before the map is run.
+     * @param cars  The most cars to hold ready, 0 to generate each car when it is needed.
+     * @author Erik Clary
+     * @since 1.35b
+     */
+    public void setCarLookAhead(int cars){
+        if(cars < 0)
+            throw new IllegalArgumentException("Car look ahead can not be negative, got " + cars);
+        carLookAhead = cars;
+    }
+    
+    /**
+     * This method returns how many cars the map's car pool has allocated, a run that recycles cars allocates about as many as are ever
+     * in the map at once.
+     * @return The amount of cars allocated by the pool, -1 if cars are not recycled.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    public long getCarsAllocated(){
+        return carPool == null ? -1 : carPool.getCreated();
+    }
+    
+    /**
+     * This method sets how many threads the time stepped engine runs the phases on, the calling thread included. It defaults to the number
+     * of available processors. Call this method before the map is run.
+     * @param workers   The number of worker threads, at least 1.
+     * @author Erik Clary
+     * @since 1.17b
+     */
+    public void setWorkerCount(int workers){
+        if(workers < 1)
+            throw new IllegalArgumentException("A map needs at least one worker, got " + workers);
+        workerCount = workers;
+    }
+    
+    /**
+     * This method turns on checkpoints of this map. A checkpoint holds everything needed to continue the run: the clock, every car with its
+     * route and timers, the signals' roads and queues, the signal groups' phases and how many cars have been generated. It is taken between two
+     * seconds and written to the file by a background thread, replacing the last one. Call this method before the map is run.
+     * @param file          The checkpoint file.
+     * @param everySeconds  The simulated seconds between checkpoints, 0 to only take them when requestCheckpoint is called.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    public void setCheckpointing(File file, int everySeconds){
+        if(everySeconds < 0)
+            throw new IllegalArgumentException("Checkpoint interval can not be negative, got " + everySeconds);
+        checkpointFile = file;
+        checkpointInterval = everySeconds;
+    }
+    
+    /**
+     * This method asks the running map to take a checkpoint before its next second, it can be called from any thread.
+     * It does nothing if setCheckpointing was not called.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    public void requestCheckpoint(){
+        checkpointRequested = true;
+    }
+    
+    /**
+     * This method asks the running map to stop before its next second, it can be called from any thread. The run ends as if its time
+     * was up at that second, so its results only cover the seconds already run. A map that has been asked to stop does not run again.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    public void requestStop(){
+        stopRequested = true;
+    }
+    
+    /**
+     * This method replaces the state of this map with a checkpoint taken by a map built from the same network, the next run continues
+     * from the second the checkpoint was taken on and gives the same results the checkpointed run would have. The engine mode and the
+     * user's car and time settings are taken from the checkpoint. Call this method in place of addInitialCars, before the map is run,
+     * and after setCarSource if the checkpointed run had a car source, which is moved on past the cars it had made. Without a car source
+     * the map's own generator is seeded as the checkpointed run's generator was.
+     * @param file  The checkpoint file.
+     * @throws IOException if the file can not be read, is not a checkpoint of this version, was taken on a different network, or its
+     *                      cars came from a different seed than the car source's.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    public void resumeFrom(File file) throws IOException{
+        Collections.sort(signals);
+        indexNetwork();
+        try (DataInputStream in = CheckpointWriter.open(file)) {
+            readCheckpoint(in);
+        }
+        resumed = true;
+    }
+    
+    /**
+     * This method is used to display how many actors are currently functioning in the system.
+     * @return The number of actors currently running in the system.
+     */
+    public int actorsInSystem(){
+        return nodes.size() + signals.size() + runningCars.size();
+    }
+    
+    /**
+     * This is map's run method.  
+     * Logic: For each second of the simulation do the following:
+     *          <ol>
+     *              <li>Add the new cars to the actor queue</li>
+     *              <li>Have all cars take their act, in chunks shared by every worker</li>
+     *              <li>Have each partition's worker make the traffic signals it owns act, no other worker touches them</li>
+     *              <li>Poll each traffic signal for their exit queues</li>
+     *              <li>Take all cars in the exit queue and place them in their next road if the movement is valid</li>
+     *              <li><b>If the move is invalid, the cars will be despawned, and will be logged that they didnt have the correct pathing.</b></li>
+     *              <li>The traffic signal's exit queue is then cleared to prevent duplicate cars.</li> 
+     *              <li>Wake the signal groups whose phase changes this second, they switch the lights their signals release by next second</li>
+     *          </ol>
+     * Only the signals are partitioned: a car is acted by whichever worker runs its chunk of the Car phase, not by the worker that owns the
+     * signal it is at.
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    @Override
+    public void run() {
+        int runtime = TIMETORUN;
+        if(forceUserOverride)
+            runtime = userTime;
+        runEnd = runtime;
+        if(engineMode == DISCRETE_EVENT){
+            runDiscreteEvent(runtime);
+            return;
+        }
+        TickEngine engine = new TickEngine(workerCount);
+        engine.addPhase("Car", useCarStore);    //a store's blocks can be part full, they are weighted by the cars they hold
+        engine.setChunkCost(chunkCost);
+        partitionSignals(engine.getWorkerCount());
+        cutPartitions();
+        prepareHandOff();
+        int firstTick = startCheckpoints();
+        startPhaseChanges(firstTick);
+        startCarPipeline();
+        if(useCarStore){
+            carStore = new CarStore();
+            for(Car e: runningCars){    //cars already running when the map was resumed
+                carStore.attach(e);
+            }
+        }
+        long start = System.nanoTime();
+        try{
+            for(currentRunningSecond =firstTick; currentRunningSecond <runtime; currentRunningSecond++){
+                if(stopRequested)
+                    break;
+                checkpointIfDue();
+                if(idleFastForward && (currentRunningSecond = skipIdleSeconds(currentRunningSecond, runtime)) >= runtime)
+                    break;
+                if(finishedCars() == userCarAmount && forceUserOverride)
+                    break; //if the user specifies a car amount, and all cars have finished execution, exit the simulation.
+                addCars(currentRunningSecond);
+                //the engine keeps its workers for the whole run, each round finishes before the next one starts: Car - TrafficSignal - delivery
+                engine.runTick(carStore == null ? runningCars : carStore.getBlocks());
+                //the cars are chunked over any worker, but each partition's signals are only acted and handed off by that partition's worker
+                engine.runPartitioned(this::releasePartition);
+                //signal run section: the released cars were handed off as their signals acted, each partition now delivers its signals' inbound cars
+                engine.runPartitioned(this::deliverPartition);
+                collectDespawned();
+                wakeSignalGroups(currentRunningSecond);
+                if((currentRunningSecond+1-firstTick)%REPARTITION_SECONDS == 0)
+                    cutPartitions();    //between ticks, the workers are waiting and the mailboxes are empty
+                ticksPerSecond = (currentRunningSecond+1-firstTick)/((System.nanoTime()-start)/1e9);
+            }
+        }finally{
+            chunkReport = engine.getChunkReport();
+            engine.shutdown();
+            stopCheckpoints();
+            stopCarPipeline();
+            if(carStore != null){
+                carStore.detachAll();   //the cars hold their own state again for the results and later runs
+                carStore = null;
+            }
+        }
+    }
+    
+    /**
+     * This is the discrete event version of run. For each second of the simulation:
+     *          <ol>
+     *              <li>Add the new cars, scheduling their arrival at their spawner signal</li>
+     *              <li>Move the cars that arrive this second into their signal's queue</li>
+     *              <li>Release the cars of the green signals</li>
+     *              <li>Move the released cars to their next road, scheduling their arrival at its signal</li>
+     *              <li>Wake the signal groups whose phase changes, their lights are used from the next second on</li>
+     *          </ol>
+     * Cars that are travelling or waiting are not touched, their timers are settled when they are released.
+     * @param runtime   The amount of seconds to run.
+     * @since 1.13b
+     * @author Erik Clary
+     */
+    private void runDiscreteEvent(int runtime){
+        if(!resumed)
+            arrivals = new CalendarQueue<>(CALENDAR_WIDTH);
+        ArrayList<Arrival> due = new ArrayList<>();
+        int firstTick = startCheckpoints();
+        startPhaseChanges(firstTick);
+        startCarPipeline();
+        long start = System.nanoTime();
+        try{
+            for(currentRunningSecond =firstTick; currentRunningSecond <runtime; currentRunningSecond++){
+                if(stopRequested)
+                    break;
+                checkpointIfDue();
+                if(idleFastForward && (currentRunningSecond = skipIdleSeconds(currentRunningSecond, runtime)) >= runtime)
+                    break;
+                if(finishedCars() == userCarAmount && forceUserOverride)
+                    break;
+                arrivals.advanceTo(currentRunningSecond);  //far arrivals due now are bucketed before this second's new cars are scheduled
+                addCars(currentRunningSecond);
+                arrivals.drain(currentRunningSecond, due);
+                for(Arrival e: due){
+                    e.signal.enqueueArrival(e.car, currentRunningSecond);
+                }
+                due.clear();
+                for(TrafficSignal e: signals){
+                    e.releaseAt(currentRunningSecond);
+                }
+                runSignalSections();
+                wakeSignalGroups(currentRunningSecond);
+                ticksPerSecond = (currentRunningSecond+1-firstTick)/((System.nanoTime()-start)/1e9);
+            }
+        }finally{
+            stopCheckpoints();
+            stopCarPipeline();
+        }
+    }
+    
+    /**
+     * This method checks if the map is idle from the given second on: no car is waiting at a signal, and no car reaches a signal or is
+     * spawned before some later second. If so, the seconds in between are skipped: travelling cars are stepped forward, and the signal groups
+     * whose phase changed on the way are woken up to the second before the returned one, as if it had been run.
+     * Nothing else can happen in an idle second, signals with empty queues do not release cars.
+     * @param tick      The second about to be run.
+     * @param runtime   The amount of seconds the map runs for.
+     * @return The next second that must be run, the runtime if nothing happens before the end of the run.
+     * @since 1.14b
+     * @author Erik Clary
+     */
+    private int skipIdleSeconds(int tick, int runtime){
+        for(TrafficSignal e: signals){
+            if(e.hasWaitingCars())
+                return tick;
+        }
+        int next = nextSpawn(tick, runtime);
+        if(engineMode == DISCRETE_EVENT){
+            next = Math.min(next, arrivals.nextTick());
+        }
+        else{
+            for(int x = 0; x<signals.size() && next > tick; x++){
+                next = Math.min(next, signals.get(x).getNextArrival(tick));
+            }
+        }
+        if(next <= tick)
+            return tick;
+        if(next >= runtime)
+            return runtime;     //nothing else happens in this run
+        int skipped = next - tick;
+        if(carStore != null){
+            carStore.advanceAll(skipped);   //every running car is travelling, none are waiting.
+        }
+        else if(engineMode == TIME_STEPPED){
+            for(Car e: runningCars){    //every running car is travelling, none are waiting.
+                e.advance(skipped);
+            }
+        }
+        wakeSignalGroups(next-1);
+        return next;
+    }
+    
+    /**
+     * This method returns the first second from the given one on that cars are spawned.
+     * @param tick      The second to start looking from.
+     * @param runtime   The amount of seconds the map runs for.
+     * @return The next second cars are spawned on, the runtime if no more cars are spawned.
+     * @since 1.14b
+     * @author Erik Clary
+     */
+    private int nextSpawn(int tick, int runtime){
+        if(forceUserOverride)
+            return tick == 0 ? 0 : runtime;     //the user's cars are all added at the start
+        for(int x = tick; x<runtime; x++){
+            if(carCurve(x) > 0)
+                return x;
+        }
+        return runtime;
+    }
+    
+    /**
+     * This method starts the checkpoint writer if checkpoints are turned on.
+     * @return The first second to run: the second of the checkpoint if this map was resumed, 0 otherwise.
+     * @since 1.19b
+     * @author Erik Clary
+     */
+    private int startCheckpoints(){
+        if(checkpointFile != null && carPool != null)
+            throw new IllegalStateException("Checkpoints can not be taken while cars are recycled");
+        int firstTick = resumed ? currentRunningSecond : 0;
+        lastCheckpointTick = firstTick;
+        if(checkpointFile != null)
+            checkpointWriter = new CheckpointWriter();
+        return firstTick;
+    }
+    
+    /**
+     * This method takes a checkpoint before the current second is run, if one was requested or the checkpoint interval has passed.
+     * A periodic checkpoint is put off while the last one is still being written, a requested one never is.
+     * @since 1.19b
+     * @author Erik Clary
+     */
+    private void checkpointIfDue(){
+        if(checkpointWriter == null)
+            return;
+        boolean periodic = checkpointInterval > 0 && currentRunningSecond - lastCheckpointTick >= checkpointInterval;
+        if(!checkpointRequested && (!periodic || checkpointWriter.isBusy()))
+            return;
+        checkpointRequested = false;
+        lastCheckpointTick = currentRunningSecond;
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(state)) {
+            writeCheckpoint(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);    //only the in memory stream is written here
+        }
+        checkpointWriter.submit(state.toByteArray(), checkpointFile);
+    }
+    
+    /**
+     * This method waits for the last checkpoint to be written and stops the checkpoint writer.
+     * @since 1.19b
+     * @author Erik Clary
+     */
+    private void stopCheckpoints(){
+        if(checkpointWriter != null){
+            checkpointWriter.shutdown();
+            checkpointWriter = null;
+        }
+    }
+    
+    /**
+     * This method writes the state of this map between two seconds. The format is, in order: the magic number and version, the second
+     * about to be run, the engine mode and user settings, the signal identifiers, the car generator's seed and how many cars it has made, the car table (running,
+     * waiting to spawn, then despawned cars), each signal's state, each signal group's state and, for the discrete event engine, the
+     * scheduled arrivals. Cars are written once in the car table and referred to by their index in it everywhere else.
+     * @param out   The stream to write to.
+     * @throws IOException if the stream can not be written.
+     * @since 1.19b
+     * @author Erik Clary
+     */
+    private void writeCheckpoint(DataOutputStream out) throws IOException{
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(CHECKPOINT_VERSION);
+        out.writeInt(currentRunningSecond);
+        out.writeInt(engineMode);
+        out.writeBoolean(forceUserOverride);
+        out.writeInt(userCarAmount);
+        out.writeInt(userTime);
+        out.writeInt(signals.size());
+        for(TrafficSignal e: signals){
+            out.writeUTF(e.getIdentifier());
+        }
+        out.writeInt(carGenerator().getSeed());
+        out.writeInt(carGenerator().getGenerated());
+        
+        IdentityHashMap<Car, Integer> carIndex = new IdentityHashMap<>();
+        ArrayList<Car> carTable = new ArrayList<>(runningCars);
+        if(spawnCars != null)
+            carTable.addAll(spawnCars);
+        carTable.addAll(despawnedCars);
+        for(Car e: carTable){
+            if(carIndex.put(e, carIndex.size()) != null)
+                throw new IllegalStateException("Car " + e.getCarID() + " is in the map twice, it can not be checkpointed.");
+        }
+        out.writeInt(runningCars.size());
+        out.writeInt(spawnCars == null ? 0 : spawnCars.size());
+        out.writeInt(despawnedCars.size());
+        for(Car e: carTable){
+            e.writeState(out);
+        }
+        for(TrafficSignal e: signals){
+            e.writeState(out, car -> {
+                Integer index = carIndex.get(car);
+                if(index == null)
+                    throw new IllegalStateException("Car " + car.getCarID() + " is on a signal but not in the map, it can not be checkpointed.");
+                return index;
+            });
+        }
+        out.writeInt(nodes.size());
+        for(SignalGroup e: nodes){
+            e.advance(currentRunningSecond-1 - groupSynced[e.getId()]);   //no group changes phase on the way, it is due after that second
+            groupSynced[e.getId()] = currentRunningSecond-1;
+            e.writeState(out);
+        }
+        if(engineMode == DISCRETE_EVENT){
+            ArrayList<Arrival> pending = new ArrayList<>();
+            ArrayList<Integer> pendingTicks = new ArrayList<>();
+            arrivals.forEachPending((arrival, tick) -> {
+                pending.add(arrival);
+                pendingTicks.add(tick);
+            });
+            out.writeInt(pending.size());
+            for(int x = 0; x<pending.size(); x++){
+                out.writeInt(pendingTicks.get(x));
+                out.writeInt(carIndex.get(pending.get(x).car));
+                out.writeInt(pending.get(x).signal.getId());
+            }
+        }
+    }
+    
+    /**
+     * This method replaces the state of this map with the state written by writeCheckpoint.
+     * @param in    The stream to read from.
+     * @throws IOException if the stream can not be read, or does not hold a checkpoint of this version taken on this map's network,
+     *                      or the checkpoint's cars were generated from a different seed than this map's car source.
+     * @since 1.19b
+     * @author Erik Clary
+     */
+    private void readCheckpoint(DataInputStream in) throws IOException{
+        if(in.readInt() != CHECKPOINT_MAGIC)
+            throw new IOException("Not a map checkpoint.");
+        int version = in.readInt();
+        if(version != CHECKPOINT_VERSION)
+            throw new IOException("Checkpoint version " + version + " can not be read, this map reads version " + CHECKPOINT_VERSION + ".");
+        int tick = in.readInt();
+        engineMode = in.readInt();
+        if(engineMode != TIME_STEPPED && engineMode != DISCRETE_EVENT)
+            throw new IOException("Checkpoint has an unknown engine mode " + engineMode + ".");
+        forceUserOverride = in.readBoolean();
+        userCarAmount = in.readInt();
+        userTime = in.readInt();
+        int signalCount = in.readInt();
+        if(signalCount != signals.size())
+            throw new IOException("Checkpoint has " + signalCount + " traffic signals, this map has " + signals.size() + ".");
+        for(TrafficSignal e: signals){
+            String identifier = in.readUTF();
+            if(!identifier.equals(e.getIdentifier()))
+                throw new IOException("Checkpoint was taken on a different network, found signal " + identifier + " in place of " + e.getIdentifier() + ".");
+        }
+        int seed = in.readInt();
+        if(carSource == null){
+            rng = seed;
+            ownCars = new CarGenerator(seed);
+        }
+        else if(carSource.getSeed() != seed)
+            throw new IOException("Checkpoint's cars were generated from seed " + seed + ", the car source's seed is " + carSource.getSeed() + ".");
+        carGenerator().setGenerated(in.readInt());
+        
+        int running = in.readInt();
+        int waiting = in.readInt();
+        int despawned = in.readInt();
+        Car[] carTable = new Car[running + waiting + despawned];
+        for(int x = 0; x<carTable.length; x++){
+            carTable[x] = new Car(in, signals::get);
+        }
+        runningCars.clear();
+        runningCars.addAll(Arrays.asList(carTable).subList(0, running));
+        spawnCars = new LinkedList<>(Arrays.asList(carTable).subList(running, running + waiting));
+        despawnedCars = new ArrayList<>(Arrays.asList(carTable).subList(running + waiting, carTable.length));
+        for(TrafficSignal e: signals){
+            e.readState(in, x -> carTable[x]);
+        }
+        int groupCount = in.readInt();
+        if(groupCount != nodes.size())
+            throw new IOException("Checkpoint has " + groupCount + " signal groups, this map has " + nodes.size() + ".");
+        for(SignalGroup e: nodes){
+            e.readState(in);
+        }
+        if(engineMode == DISCRETE_EVENT){
+            arrivals = new CalendarQueue<>(CALENDAR_WIDTH);
+            for(int x = in.readInt(); x>0; x--){
+                int due = in.readInt();
+                Car car = carTable[in.readInt()];
+                arrivals.schedule(due, new Arrival(car, signals.get(in.readInt())));
+            }
+        }
+        currentRunningSecond = tick;
+    }
+    
+    /**
+     * This method puts a car that has just been given its continue flag on the road of its next signal. The time stepped engine adds it to the
+     * signal's feeder road, the discrete event engine schedules its arrival at the signal. An arrival that never comes, on a road the car
+     * can not drive, or that comes after the run has stopped is not scheduled, the car stays on the road as it does in the stepped engine.
+     * @param car           The car entering the road.
+     * @param signal        The signal at the end of the road.
+     * @param firstActTick  The first second the car travels on this road.
+     * @since 1.13b
+     * @author Erik Clary
+     */
+    private void enterRoad(Car car, TrafficSignal signal, int firstActTick){
+        if(engineMode != DISCRETE_EVENT){
+            signal.addCar(car);
+            return;
+        }
+        long due = (long)firstActTick + car.getTicksOnCurrentRoad() - 1;    //a car that can not arrive is about Integer.MAX_VALUE ticks away
+        if(car.canArrive() && due < runEnd)
+            arrivals.schedule((int)due, new Arrival(car, signal));
+    }
+    
+    /**
+     * This method makes the given amount of partitions of the signals, with a mailbox for each pair of them. Which signals each one owns
+     * is set by cutPartitions.
+     * @param count     The amount of partitions.
+     * @since 1.15b
+     * @author Erik Clary
+     */
+    private void partitionSignals(int count){
+        signalOwner = new int[signals.size()];
+        ownedSignals = new int[count][];
+        inboxes = new Mailbox[count][count];
+        delivered = new int[count][count];
+        for(int x = 0; x<count; x++){
+            for(int y = 0; y<count; y++){
+                inboxes[x][y] = new Mailbox();
+            }
+        }
+    }
+    
+    /**
+     * This method splits the signal groups into contiguous partitions by the act costs of their signals at this second, so the cars
+     * waiting at busy intersections are spread over the workers. A signal is owned by the partition of the first group it enters,
+     * signals that enter no group are cut after the groups in index order. The cut is only as even as the costs are steady: the partitioned
+     * rounds do not steal, so a partition whose signals get busier before the next cut is slower than the others until then. The results
+     * do not depend on the cut, the handed off cars are delivered in release order whichever partitions they cross.
+     * @since 1.36b
+     * @author Erik Clary
+     */
+    private void cutPartitions(){
+        int count = ownedSignals.length;
+        long total = 0;
+        for(TrafficSignal e: signals){
+            total += e.getActCost();
+        }
+        Arrays.fill(signalOwner, -1);
+        long seen = 0;
+        for(SignalGroup e: nodes){
+            int partition = total == 0 ? 0 : (int)Math.min(count-1, seen*count/total);
+            for(TrafficSignal t: e.getEntranceSignals()){
+                int index = t.getId();
+                if(signalOwner[index] == -1){
+                    signalOwner[index] = partition;
+                    seen += t.getActCost();
+                }
+            }
+        }
+        int[] owned = new int[count];
+        for(int x = 0; x<signalOwner.length; x++){
+            if(signalOwner[x] == -1){
+                signalOwner[x] = (int)Math.min(count-1, seen*count/total);
+                seen += signals.get(x).getActCost();
+            }
+            owned[signalOwner[x]]++;
+        }
+        for(int x = 0; x<count; x++){
+            ownedSignals[x] = new int[owned[x]];
+            owned[x] = 0;
+        }
+        for(int x = 0; x<signalOwner.length; x++){
+            ownedSignals[signalOwner[x]][owned[signalOwner[x]]++] = x;
+        }
+    }
+    
+    /**
+     * This method builds the lists of cars that leave the map at each signal, filled as the signals hand off their released cars.
+     * @since 1.16b
+     * @author Erik Clary
+     */
+    @SuppressWarnings("unchecked")
+    private void prepareHandOff(){
+        leavingCars = new ArrayList[signals.size()];
+        for(int x = 0; x<signals.size(); x++){
+            leavingCars[x] = new ArrayList<>();
+        }
+    }
+    
+    /**
+     * This method makes every signal a partition owns act, in index order, each handing off the cars it released right after it acts.
+     * Only the partition's own worker runs it, so a signal and the cars in its queue are only touched by that worker this round.
+     * @param partition     The partition to act.
+     * @since 1.36b
+     * @author Erik Clary
+     */
+    private void releasePartition(int partition){
+        for(int owned: ownedSignals[partition]){
+            TrafficSignal signal = signals.get(owned);
+            signal.act();
+            handOff(partition, owned, signal);
+        }
+    }
+    
+    /**
+     * This method hands off the cars a signal released this second, it is run by the worker of the signal's partition. Each car is given
+     * its continue flag and posted, in release order, to the mailbox from this partition to the partition that owns its next signal, or
+     * set aside to leave the map if it is finished or lost. Only the releasing signal, its cars and this partition's mailboxes are changed.
+     * @param partition The partition that owns the releasing signal.
+     * @param source    The index of the signal that released the cars.
+     * @param e         The signal that released the cars.
+     * @since 1.16b
+     * @author Erik Clary
+     */
+    private void handOff(int partition, int source, TrafficSignal e){
+        CarRing outgoing = e.getOutgoingCars();
+        if(outgoing.isEmpty())
+            return;
+        for(int outCarsIterator =0; outCarsIterator <outgoing.size(); outCarsIterator++){
+            Car outCar = outgoing.get(outCarsIterator);
+            int nextQueue = outCar.passContinueSignal(); //NOTE: if this is END_OF_ROUTE, that means despawn car
+            if(nextQueue == Car.END_OF_ROUTE){
+                leavingCars[source].add(outCar);
+            }
+            else if(verifyNextDirection(nextQueue,e)){
+                inboxes[signalOwner[nextQueue]][partition].post(source, outCar, signals.get(nextQueue));
+            }
+            else{
+                Logger.getLogger(Map.class.getName()).log(Level.WARNING, "Car {0} does not have a good next path.", outCar.getCarID());
+                leavingCars[source].add(outCar);
+            }
+        }
+        e.clearOutGoingCars();
+    }
+    
+    /**
+     * This method delivers the cars handed off to the signals a partition owns onto their roads. The partition's inboxes each hold their
+     * cars by releasing signal, so merging them by that signal gives the order the sequential signal run section adds the cars in.
+     * @param partition     The partition to deliver.
+     * @since 1.15b
+     * @author Erik Clary
+     */
+    private void deliverPartition(int partition){
+        Mailbox[] boxes = inboxes[partition];
+        int[] read = delivered[partition];
+        for(int next; (next = Mailbox.nextInOrder(boxes, read)) != -1; read[next]++){
+            boxes[next].getTarget(read[next]).addCar(boxes[next].getCar(read[next]));
+        }
+        for(int x = 0; x<boxes.length; x++){
+            boxes[x].clear();
+            read[x] = 0;
+        }
+    }
+    
+    /**
+     * This method moves the cars that left the map this second to the despawned cars, in signal order, the order the sequential signal run
+     * section despawns them in.
+     * @since 1.15b
+     * @author Erik Clary
+     */
+    private void collectDespawned(){
+        for(ArrayList<Car> leaving: leavingCars){
+            for(Car outCar: leaving){
+                runningCars.remove(outCar);
+                if(carStore != null)
+                    carStore.detach(outCar);
+                despawn(outCar);
+            }
+            leaving.clear();
+        }
+    }
+    
+    /**
+     * This method records a car that has left the map: it is added to the despawned cars, or, when cars are recycled, its trip is recorded
+     * and the car goes back to the pool. The car must already be out of the running cars.
+     * @param car   The car that left the map.
+     * @since 1.21b
+     * @author Erik Clary
+     */
+    private void despawn(Car car){
+        if(carPool == null){
+            despawnedCars.add(car);
+            return;
+        }
+        trips.add(new TripRecord(car));
+        carPool.release(car);
+    }
+    
+    /**
+     * This method returns how many cars have left the map, recycled or not.
+     * @return The amount of despawned cars and trip records.
+     * @since 1.21b
+     * @author Erik Clary
+     */
+    private int finishedCars(){
+        return despawnedCars.size() + trips.size();
+    }
+    
+    /**
+     * This method sets up the signal groups' phase changes for a run starting on the given second: every signal's light for the first
+     * second is set from the groups' current places in their cycles, those of the second before, and each group is held in the timing
+     * wheel until the second its signals next change.
+     * @param firstTick The first second of the run.
+     * @since 1.26b
+     * @author Erik Clary
+     */
+    private void startPhaseChanges(int firstTick){
+        phaseChanges = new TimingWheel(nodes.size(), firstTick-1);
+        groupSynced = new int[nodes.size()];
+        greenGroups = new int[signals.size()];
+        dueGroups = new int[nodes.size()];
+        for(TrafficSignal e: signals){
+            e.lightOff();
+        }
+        for(SignalGroup e: nodes){
+            groupSynced[e.getId()] = firstTick-1;   //a group's place is that of the second before the run, a resumed one's too
+            switchSignals(e, 1);
+            int change = e.secondsUntilChange();
+            if(change > 0)
+                phaseChanges.schedule(e.getId(), firstTick-1 + change);
+        }
+    }
+    
+    /**
+     * This method is the group run section: the signal groups whose phase changes on the given second are moved to it, their old
+     * signals are turned off and their new ones on, and they are held again until their next change. Other groups are not touched.
+     * It is run after the signals have released their cars, so a light switched on a second is first used on the second after it.
+     * @param tick  The second just run, the seconds skipped since the last one are caught up on.
+     * @since 1.26b
+     * @author Erik Clary
+     */
+    private void wakeSignalGroups(int tick){
+        int count = phaseChanges.advanceTo(tick, dueGroups);
+        for(int x = 0; x<count; x++){
+            SignalGroup group = nodes.get(dueGroups[x]);
+            switchSignals(group, -1);
+            group.advance(tick - groupSynced[group.getId()]);
+            groupSynced[group.getId()] = tick;
+            switchSignals(group, 1);
+            phaseChanges.schedule(group.getId(), tick + group.secondsUntilChange());
+        }
+    }
+    
+    /**
+     * Turns the signals a group has on at its current second on (change 1) or back off (change -1). A signal is lit while any group has it on.
+     */
+    private void switchSignals(SignalGroup group, int change){
+        for(int x = group.firstSignalOn(); x<group.endSignalOn(); x++){
+            TrafficSignal signal = signals.get(group.scheduledSignal(x).getId());   //the group has its own copy of the signal, the id is the map's own
+            greenGroups[signal.getId()] += change;
+            if(greenGroups[signal.getId()] == 0)
+                signal.lightOff();
+            else
+                signal.thisSignalOn();
+        }
+    }
+    
+    /**
+     * This method runs the single threaded part of a tick, after all actors have acted: the outgoing cars of every signal are moved to their next signal (or despawned).
+     * @since 1.11b
+     * @author Erik Clary
+     */
+    private void runSignalSections(){
+        //signal run section
+        for(TrafficSignal e:signals){ //this is the loop that moves the outgoing cars from their traffic signals to their new destination.
+            if(e.getOutgoingCars().size()!=0){
+                for(int outCarsIterator =0; outCarsIterator <e.getOutgoingCars().size(); outCarsIterator++){
+                    Car outCar = e.getOutgoingCars().get(outCarsIterator);
+                    int nextQueue = outCar.passContinueSignal(); //gives the car its continue flag, pull the ID NOTE: if this is END_OF_ROUTE, that means despawn car
+                    if(nextQueue == Car.END_OF_ROUTE){ // END_OF_ROUTE indicates the car has reached its destination.
+                        runningCars.remove(outCar); //needs to be tested
+                        despawn(outCar);
+                    }
+                    else{
+                        if(verifyNextDirection(nextQueue,e)){ 
+                            enterRoad(outCar, signals.get(nextQueue), currentRunningSecond+1); //adds the car to its next destination traffic signal
+                        }
+                        else{
+                            Logger.getLogger(Map.class.getName()).log(Level.WARNING, "Car {0} does not have a good next path.", outCar.getCarID());
+                            runningCars.remove(outCar);
+                            despawn(outCar);
+                        }
+                    }
+                }
+                e.clearOutGoingCars(); //clears the outGoingCars AL; 
+            }
+        }
+    } 
+    
+    /**
+     * This method returns the progress of the map's simulation
+     * @return A percentage representing the completion progress of the simulation.
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    public double getProgress(){
+        if(!forceUserOverride)
+            return ((double)currentRunningSecond)/TIMETORUN;
+        else
+            return ((double)currentRunningSecond)/userTime;
+    }
+    
+    /**
+     * This method returns the average simulation speed of the map's run, it can be polled while the map is running.
+     * @return The average amount of simulated seconds (ticks) run per second of wall time, 0 before the first tick has finished.
+     * @since 1.11b
+     * @author Erik Clary
+     */
+    public double getTicksPerSecond(){
+        return ticksPerSecond;
+    }
+    
+    /**
+     * This method returns the chunk timing of each phase of the map's run, one line per phase.
+     * Only call this method after run() has completed.
+     * @return The chunk timing report, empty if the map has not been run.
+     * @since 1.12b
+     * @author Erik Clary
+     */
+    public String getChunkReport(){
+        return chunkReport;
+    }
+    
+    /**
+     * This method returns the list of cars that have finished their routes (or got lost). 
+     * Only call this method after run() has completed (you can check getProgress for a 1.0 value)
+     * @return An ArrayList populated by the cars that have finished their routes.
+     * @since 1.05a
+     * @author Erik Clary
+     */
+    public ArrayList<Car> getDespawnedCars(){
+        return despawnedCars;
+    }
+    
+    /**
+     * This method returns the results of every car that has left the map, the despawned cars followed by the trips of the recycled cars.
+     * Only call this method after run() has completed.
+     * @return One trip record per finished car, in the order they left the map.
+     * @since 1.21b
+     * @author Erik Clary
+     */
+    public ArrayList<TripRecord> getTripRecords(){
+        ArrayList<TripRecord> records = new ArrayList<>(finishedCars());
+        for(Car e: despawnedCars){
+            records.add(new TripRecord(e));
+        }
+        records.addAll(trips);
+        return records;
+    }
+    
+    /**
+     * This method returns the value of the curve equation (|sin(P*x)*A|+C) at a given moment.
+     * 
+     * @param currentMoment The current running second of the simulation.
+     * @return The curve value based on the passed value.
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    private int carCurve(int currentMoment){
+        if(forceUserOverride){
+            if(currentMoment == 0)      //add user's specified car amount at the beginning, else do not add any.
+                return userCarAmount;
+            return 0;
+        }
+        return  (int) ((Math.abs(Math.sin(PERIOD*currentMoment))*AMPLITUDE) + ySHIFT);
+    }
+    
+    /**
+     * This method adds the amount of cars(based on the current running second) to the actor queue, then adds them to their respective
+     * feeder roads by popping their first direction (which is their spawn signal) and searching for its traffic signal.
+     * @param currentMoment 
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    private void addCars(int currentMoment){
+        for(int x = 0; x<carCurve(currentMoment); x++){
+            if(spawnCars.peek()==null)
+                requestMoreCars(carCurve(currentMoment));
+            Car spawned = spawnCars.poll();
+            runningCars.add(spawned); //this adds the car to the stage(actor queue)
+            if(carStore != null)
+                carStore.attach(spawned);
+            spawned.spawnedAt(currentMoment);
+            enterRoad(spawned, signals.get(spawned.passContinueSignal()), currentMoment); //this adds the car to its spawner traffic signal.
+        }
+    }
+
+    /**
+     * This method will poll the XML/main for more cars to add to the feeder queue.
+     * @param amount        The amount of cars you want to add
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    private void requestMoreCars(int amount) {
+        CarGenerator generator = carGenerator();
+        for(int x = 0; x<amount; x++){
+            spawnCars.add(carPipeline != null ? carPipeline.take() : generator.next(this, carPool));
+            //System.out.println("Created additional car: " + x + " of " + amount);
+        }
+    }
+
+    /**
+     * This method starts generating cars ahead of the clock if a look ahead is set, from the car the map would generate next.
+     * @since 1.35b
+     * @author Erik Clary
+     */
+    private void startCarPipeline(){
+        if(carLookAhead > 0 && carPool != null)
+            throw new IllegalStateException("Cars can not be generated ahead while cars are recycled");
+        if(carLookAhead > 0)
+            carPipeline = new CarPipeline(carGenerator(), this, carLookAhead);
+    }
+    
+    /**
+     * This method stops generating cars ahead, the cars generated but not taken are dropped.
+     * @since 1.35b
+     * @author Erik Clary
+     */
+    private void stopCarPipeline(){
+        if(carPipeline != null){
+            carPipeline.close();
+            carPipeline = null;
+        }
+    }
+
+    /**
+     * Returns the generator new cars are taken from, the car source if one was set, otherwise the map's own.
+     */
+    private CarGenerator carGenerator(){
+        if(carSource != null)
+            return carSource;
+        if(ownCars == null)
+            ownCars = new CarGenerator(rng);
+        return ownCars;
+    }
+
+    /**
+     * This method will return true if the nextQueue(trafficSignalID) is an exit of the signal group that e(traffic signal parameter) enters.
+     * @param nextQueue The id of the next TrafficSignal, pulled from a car's directions.
+     * @param e         The traffic signal that the car is currently being released from.
+     * @return          True if the nextQueue is contained in the same traffic group as e, false otherwise.
+     * @see SignalGroup
+     * @since 1.04a
+     * @author Erik Clary
+     */
+    private boolean verifyNextDirection(int nextQueue, TrafficSignal e) {
+        return graph.isExit(e.getId(), nextQueue);
+    }
+    
+    /**
+     * This method returns an array of exits for the given parameter.
+     * @param currentPoint  The traffic signal that you want the exits of.
+     * @return A new list of the exits of the parameter given, empty if it enters no signal group.
+     * @since 1.05a
+     * @see DirectionCreation
+     * @author Erik Clary
+     */
+    public ArrayList<TrafficSignal> getExitsOf(TrafficSignal currentPoint) {
+        int id = currentPoint.getId();
+        ArrayList<TrafficSignal> exits = new ArrayList<>(graph.endExit(id) - graph.firstExit(id));
+        for(int x = graph.firstExit(id); x<graph.endExit(id); x++){
+            exits.add(graph.signal(graph.exitAt(x)));
+        }
+        return exits;
+    }
+    
+    /**
+     * This method returns the exits of every signal in this map, see SignalGraph.
+     * @return The map's signal graph, it is never changed.
+     * @since 1.24b
+     * @author Erik Clary
+     */
+    SignalGraph getSignalGraph(){
+        return graph;
+    }
+    
+    /**
+     * This method returns the contraction hierarchy of this map's signal graph, building it on the first call. Building it takes a
+     * pass over the whole network, every route after that is a query of it.
+     * @return The map's router, it is never changed.
+     * @since 1.32b
+     * @author Erik Clary
+     */
+    synchronized ContractionHierarchy getRouter(){
+        if(router == null)
+            router = new ContractionHierarchy(graph);
+        return router;
+    }
+    
+    /**
+     * This method returns the cache of the routes found between pairs of this map's signals, it is shared by every DirectionCreation
+     * that routes over this map.
+     * @return The map's route cache.
+     * @since 1.33b
+     * @author Erik Clary
+     */
+    synchronized RouteCache getRouteCache(){
+        if(routeCache == null)
+            routeCache = new RouteCache(graph);
+        return routeCache;
+    }
+    
+    /**
+     * This method is used to return the traffic signals present in the system. Should only be used to gather metrics after
+     * this class has finished executing.
+     * @return An ArrayList containing the traffic signals in this map.
+     * @author Erik Clary
+     * @since 1.09a
+     */
+    public ArrayList<TrafficSignal> getTrafficSignals(){
+        return signals;
+    }
+
+    /**
+     * Returns the integral of the car curve between 0 and TIMETORUN
+     * @return the amount of cars that will be required for this map to run completely.
+     * @since 1.07a
+     * @author Erik Clary
+     */
+    public int getTotalCarsNeeded() {
+        int returnable = 0;
+        if(forceUserOverride)
+            return userCarAmount;
+        for(int x = 0; x<TIMETORUN; x++){
+            returnable += carCurve(x);
+        }
+        return returnable;
+    }
+
+    /**
+     * This will return a random trafficSignal in the map.
+     * @param seed  The random object for this method to use. Make sure to pass it the object you've been using for the rest of the seeds, otherwise
+     *              the run-to-run operation of this method will be compromised.
+     * The signals are drawn from in the order the map was constructed with, so cars generated before and after the map sorts its
+     * signals are the same.
+     * @return A random traffic signal pulled from the list in this map.
+     * @since 1.07a
+     * @author Erik Clary
+     */
+    public TrafficSignal getRandomPoint(Random seed){
+        return randomPoints.get((seed.nextInt(randomPoints.size())));
+    }
+    
+    /**
+     * This method returns a random traffic signal in the map, drawn from a car's own stream the same way as from a Random. Only reads
+     * the map, so it may be called from many threads at once.
+     * @param stream    The stream to draw from.
+     * @return A random traffic signal pulled from the list in this map.
+     * @see CarGenerator
+     * @since 1.34b
+     * @author Erik Clary
+     */
+    public TrafficSignal getRandomPoint(SplittableRandom stream){
+        return randomPoints.get(stream.nextInt(randomPoints.size()));
+    }
+    
+    /**
+     * A car's scheduled arrival at the end of a signal's feeder road, used by the discrete event engine.
+     */
+    private static final class Arrival {
+        private final Car car;
+        private final TrafficSignal signal;
+        
+        private Arrival(Car car, TrafficSignal signal){
+            this.car = car;
+            this.signal = signal;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.mycompany.trafficsimulator;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -10,9 +9,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.PrintWriter;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.Queue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,11 +45,20 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
  *                                      Added deepClone, getRoadLength, getRoadSpeed methods.
  *                                      match standard java coding characteristics</li>
  *          <li> 1.10b | 11/27/2016:    Fixed carQueue read/write methods.
+ *          <li> 1.17b | 10/18/2026:    The workbook path is a constructor argument so headless runs can load any network file.</li>
+ *          <li> 1.18b | 10/18/2026:    The parsed sheets are kept, added newMap which builds a new, independent map from them for ensemble runs.</li>
+ *          <li> 1.23b | 10/18/2026:    Roads, traffic signals and signal groups are given dense int ids as they are built.</li>
+ *          <li> 1.30b | 10/18/2026:    An optional "Signal Behaviors" sheet overrides the green time and release amount of signal types,
+ *                                      every signal of a type shares one behavior.</li>
+ *          <li> 1.36b | 10/18/2026:    Removed writeCarQueue and readCarQueue, nothing reads or writes carQueue.txt since the cars come from a
+ *                                      CarGenerator's seed.</li>
  *      </ul>
  */
 public class ReadExcel implements Runnable{
+    public static final String BEHAVIOR_SHEET = "Signal Behaviors";    //optional rows of: signal type, green seconds, cars released per second
     
     private final XSSFWorkbook workbook;
+    private final String workbookPath;
     private XSSFSheet sheet;
     private FileInputStream file = null;
     private final ArrayList<TrafficSignal> trafficSignals = new ArrayList<>();
@@ -63,10 +70,24 @@ public class ReadExcel implements Runnable{
     
     private int numRoads;
     private int numNodes;
+    private String[][] roadData;    //kept after run, so newMap can build more networks from them without reading the file again
+    private String[][] nodeData;
+    private SignalBehavior[] behaviors;     //by signal type, the defaults unless the workbook overrides them
     
     public ReadExcel() throws FileNotFoundException, IOException {
-         
-        file = new FileInputStream(new File("data.xlsx"));
+        this("data.xlsx");
+    }
+    
+    /**
+     * Opens the given workbook. The car output methods write back into this same file.
+     * 
+     * @author Erik Clary
+     * @param workbookPath Path of the .xlsx network file.
+     * @since 1.17b
+     */
+    public ReadExcel(String workbookPath) throws FileNotFoundException, IOException {
+        this.workbookPath = workbookPath;
+        file = new FileInputStream(new File(workbookPath));
         //Create Workbook instance holding reference to .xlsx file
         workbook = new XSSFWorkbook(file);
                
@@ -86,7 +107,7 @@ public class ReadExcel implements Runnable{
         int rowNum = sheet.getLastRowNum() + 1;
         numRoads = rowNum;
         int colNum = sheet.getRow(0).getLastCellNum();
-        String[][] roadData = new String[rowNum][colNum];
+        roadData = new String[rowNum][colNum];
         
         progress = ".2";
         DataFormatter formatter;   //used to set cell value to string
@@ -108,7 +129,7 @@ public class ReadExcel implements Runnable{
         rowNum = sheet.getLastRowNum() + 1;
         numNodes = rowNum;
         colNum = sheet.getRow(0).getLastCellNum();
-        String[][] nodeData = new String[rowNum][colNum];
+        nodeData = new String[rowNum][colNum];
         
         formatter = new DataFormatter();
         //Loop through rows and cells (node info) inserting cell to data1 array
@@ -122,16 +143,53 @@ public class ReadExcel implements Runnable{
             
         }
         
+        behaviors = readBehaviors(workbook.getSheet(BEHAVIOR_SHEET), formatter);
+        
         progress = ".5";
         //Loop through and populate array with roads
+        for (int i = 0; i <= numRoads-1; i++) {
+            //Constructor for Road, roads never change during a run so every network built by this reader shares them
+            roads.add(new Road(roadData[i][2], roadData[i][6], Double.parseDouble(roadData[i][3]), Integer.parseInt(roadData[i][4])));
+            roads.get(i).setId(i);
+        }
+        
+        progress = ".7";
+        buildNetwork(trafficSignals, signalGroup);
+        
+        try {
+            file.close();
+        } catch (IOException ex) {
+            Logger.getLogger(ReadExcel.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        
+        progress = "1";
+        threadHasRun = true;
+    }
+    
+    /**
+     * Builds the traffic signals and signal groups of one network from the parsed sheets. Every call builds new signals and groups,
+     * sharing only the roads, so each Map built from them can run at the same time as the others.
+     * 
+     * @param signalsOut    The list the traffic signals are added to, in sheet order.
+     * @param groupsOut     The list the signal groups are added to, in sheet order.
+     * @author Chris Tisdale, Erik Clary
+     * @since 1.18b
+     */
+    private void buildNetwork(ArrayList<TrafficSignal> signalsOut, ArrayList<SignalGroup> groupsOut) {
         //coords array is given to constructor in (x,y) order
         int[] coords = new int[2];
         for (int i = 0; i <= numRoads-1; i++) {
             coords[0] = Integer.parseInt(roadData[i][7]);
             coords[1] = Integer.parseInt(roadData[i][8]);
-            //Constructors for Road and TrafficSignal
-            roads.add(new Road(roadData[i][2], roadData[i][6], Double.parseDouble(roadData[i][3]), Integer.parseInt(roadData[i][4])));
-            trafficSignals.add(new TrafficSignal(Integer.parseInt(roadData[i][5]), roads.get(i), roadData[i][0]+roadData[i][1], coords));
+            //Constructor for TrafficSignal, every signal of a type shares the type's behavior
+            signalsOut.add(new TrafficSignal(behaviorOf(Integer.parseInt(roadData[i][5])), roads.get(i), roadData[i][0]+roadData[i][1], coords));
+        }
+        //signals are numbered in identifier order, the order the map sorts them in, so a signal's id is its index in the map.
+        //This is done before the operation orders are deep cloned below, so the clones carry the ids too.
+        ArrayList<TrafficSignal> byIdentifier = new ArrayList<>(signalsOut);
+        Collections.sort(byIdentifier);
+        for (int i = 0; i < byIdentifier.size(); i++) {
+            byIdentifier.get(i).setId(i);
         }
        
         
@@ -146,10 +204,10 @@ public class ReadExcel implements Runnable{
             //Those that start with same ID as the node are added as exits
             //Thise that end with same ID as the node are added as entering traffic signals
             for (int j = 0; j <= numRoads-1; j++) {
-                if (trafficSignals.get(j).getIdentifier().startsWith(tempNode))
-                    exitTemp.add(trafficSignals.get(j));
-                if (trafficSignals.get(j).getIdentifier().endsWith(tempNode))
-                    signalTemp.add(trafficSignals.get(j));       
+                if (signalsOut.get(j).getIdentifier().startsWith(tempNode))
+                    exitTemp.add(signalsOut.get(j));
+                if (signalsOut.get(j).getIdentifier().endsWith(tempNode))
+                    signalTemp.add(signalsOut.get(j));       
             }
             
             //deep copy signalTemp (the signals at that node)
@@ -165,7 +223,6 @@ public class ReadExcel implements Runnable{
             int tempSignalASize = 0;
             int tempSignalBSize = 0;
 
-            progress = ".7";
             //While the signals list is not empty this loop runs
             //It places the first signal in tempSignalA
             //Then any subsequent signals that have the same signalType as the next index of tempSignalA
@@ -315,19 +372,55 @@ public class ReadExcel implements Runnable{
             }
 
             //Constructor for SignalGroup
-            signalGroup.add(new SignalGroup(exitTemp, signalTemp, signalOrder));
+            groupsOut.add(new SignalGroup(exitTemp, signalTemp, signalOrder));
+            groupsOut.get(groupsOut.size()-1).setId(groupsOut.size()-1);
         }
-        
-        try {
-            file.close();
-        } catch (IOException ex) {
-            Logger.getLogger(ReadExcel.class.getName()).log(Level.SEVERE, null, ex);
+    }
+    
+
+    /**
+     * Reads the signal behaviors sheet: each row is a signal type, the seconds it stays green and the cars it releases each second.
+     * A first row that does not start with a number is a header. Types that are not in the sheet keep their default behavior.
+     * 
+     * @param behaviorSheet The sheet, null if the workbook has none.
+     * @param formatter     Formats the cells as strings.
+     * @return The behaviors, by signal type.
+     * @author Erik Clary
+     * @since 1.30b
+     */
+    private static SignalBehavior[] readBehaviors(XSSFSheet behaviorSheet, DataFormatter formatter) {
+        SignalBehavior[] table = SignalBehavior.defaults();
+        if(behaviorSheet == null)
+            return table;
+        for (int i = 0; i <= behaviorSheet.getLastRowNum(); i++) {
+            XSSFRow row = behaviorSheet.getRow(i);
+            if(row == null)
+                continue;
+            String type = formatter.formatCellValue(row.getCell(0)).trim();
+            if(type.isEmpty() || (i == 0 && !type.matches("-?\\d+")))
+                continue;   //blank row or header
+            int signalType = Integer.parseInt(type);
+            if(signalType < 0)
+                throw new IllegalArgumentException(BEHAVIOR_SHEET + " row " + (i+1) + " has a negative signal type " + signalType + ".");
+            if(signalType >= table.length){
+                SignalBehavior[] larger = new SignalBehavior[signalType+1];
+                System.arraycopy(table, 0, larger, 0, table.length);
+                table = larger;
+            }
+            table[signalType] = new SignalBehavior(signalType, Integer.parseInt(formatter.formatCellValue(row.getCell(1)).trim()),
+                    Integer.parseInt(formatter.formatCellValue(row.getCell(2)).trim()));
         }
-        
-        progress = "1";
-        threadHasRun = true;
+        return table;
     }
     
+    /**
+     * Returns the behavior every signal of the given type shares.
+     */
+    private SignalBehavior behaviorOf(int signalType) {
+        if(signalType >= 0 && signalType < behaviors.length && behaviors[signalType] != null)
+            return behaviors[signalType];
+        return SignalBehavior.of(signalType);
+    }
 
      /**
      * returns the nextRoad's distance/length
@@ -364,55 +457,27 @@ public class ReadExcel implements Runnable{
         }
         return null;
     }
-
-    public String getProgress() {
-        return progress;
-    }
     
     /**
-     * This method writes the serialized car queue to the carQueue.txt file.
-     *
-     * @param outCarQueue that is to be written to file.
-     * @author Chris Tisdale
-     * @since 1.08a
+     * This will return a new map built from the XLSX document already read by this thread. The map has its own traffic signals and signal groups,
+     * so any amount of maps from this reader can be run at once. It can be called from many threads at once.
+     * @return A new map with no cars in it. This can only be called after this thread has been run, otherwise it will return null.
+     * @author Erik Clary
+     * @since 1.18b
      */
-    public void writeCarQueue(Queue<Car> outCarQueue) {
-        try {
-            PrintWriter pw = new PrintWriter("carQueue.txt");
-            pw.close();
-            FileOutputStream fos = new FileOutputStream("carQueue.txt"); 
-            ObjectOutputStream oos = new ObjectOutputStream(fos);
-            oos.writeObject(outCarQueue);
-            oos.close();
-        } catch (IOException ex) {
-            Logger.getLogger(ReadExcel.class.getName()).log(Level.SEVERE, null, ex);
-        }
+    public Map newMap(){
+        if(!threadHasRun)
+            return null;
+        ArrayList<TrafficSignal> newSignals = new ArrayList<>();
+        ArrayList<SignalGroup> newGroups = new ArrayList<>();
+        buildNetwork(newSignals, newGroups);
+        return new Map(newGroups, newSignals);
     }
 
-    /**
-     * This method reads the serialized car queue from carQueue.txt file.
-     *
-     * @return car queue.
-     * @throws IOException
-     * @author Chris Tisdale
-     * @since 1.08a
-     */
-    public Queue<Car> readCarQueue() throws IOException {
-        Queue<Car> carQueue = new LinkedList();
-        FileInputStream fis = new FileInputStream("carQueue.txt");
-        try (ObjectInputStream ois = new ObjectInputStream(fis)) {
-                carQueue = (Queue<Car>) ois.readObject();
-                ois.close();
-            } catch (ClassNotFoundException | EOFException ex) {
-                
-            } finally{
-                fis.close();
-                PrintWriter pw = new PrintWriter("carQueue.txt");
-                pw.close();
-                return carQueue;
-            }
+    public String getProgress() {
+        return progress;
     }
-
+    
     /**
      * This method writes the serialized traffic signal queue to the signalQueue.txt file.
      *
@@ -493,7 +558,7 @@ public class ReadExcel implements Runnable{
         cell.setCellValue(outCar.getTimeAtSignalLight());
 
 
-        try (FileOutputStream fileOut = new FileOutputStream("data.xlsx")) {
+        try (FileOutputStream fileOut = new FileOutputStream(workbookPath)) {
             workbook.write(fileOut);
             fileOut.close();
         }
@@ -516,7 +581,7 @@ public class ReadExcel implements Runnable{
             sheet.removeRow(row);
         }
 
-        try (FileOutputStream fileOut = new FileOutputStream("data.xlsx")) {
+        try (FileOutputStream fileOut = new FileOutputStream(workbookPath)) {
             workbook.write(fileOut);
             fileOut.close();
         }
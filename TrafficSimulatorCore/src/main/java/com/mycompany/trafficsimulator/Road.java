@@ -15,6 +15,7 @@ import java.io.Serializable;
  *      <ul> 
  *          <li> 1.01a | 10/25/2016: Initial commit </li> 
  *          <li> 1.08a | 11/14/2016: Added functionality for Chris' change in ReadExcel (implements serializable)</li>
+ *          <li> 1.23b | 10/18/2026: Added a dense int id, given by ReadExcel.</li>
  *      </ul>
  */
 public class Road implements Serializable{
@@ -22,6 +23,7 @@ public class Road implements Serializable{
     private final String roadDirection;
     private final double distance;
     private final int speedLimit;
+    private int id = -1;    //dense, in sheet order
     
     /**
      * Constructor for this class, accepts String name, direction, double distance, and
@@ -40,6 +42,26 @@ public class Road implements Serializable{
         this.distance = distance;
         this.speedLimit = speedLimit;
     }
+
+    /**
+     * This method returns the dense id of this road, in sheet order. Roads are shared by every map built from the same reader.
+     * @return The id, -1 if it was never given one.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    public int getId(){
+        return id;
+    }
+    
+    /**
+     * This method gives this road its dense id, only ReadExcel should call this method, when it loads the network.
+     * @param id    The id, from 0 to the amount of roads in the network - 1.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    void setId(int id){
+        this.id = id;
+    }
     
     /**
      * returns this road's name.
@@ -0,0 +1,146 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The RouteCache class holds, for every pair of start and end signals that a car has been given, a small set of different routes
+ * between them. A set is found the first time its pair is asked for, from the map's ContractionHierarchy, and every car with that pair
+ * after it is given one of the set's routes picked at random, the quicker routes more often. Generating the cars of a run then costs
+ * one route search per pair instead of one per car.
+ * <p> A set is the shortest route and up to ALTERNATIVES - 1 others that take at most STRETCH times as long and share at most
+ * SHARED of their signals with the routes before them. How long a route takes is the sum of its roads' route weights, and its weight
+ * falls off exponentially with how much longer it takes than the shortest, by SPREAD. The sets only depend on the network, so the cars are the same whichever thread found a set first.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.33b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.33b | 10/18/2026: Initial commit </li>
+ *          <li> 1.34b | 10/18/2026: A route is picked with doubles from any generator, the car's own SplittableRandom stream.</li>
+ *          <li> 1.36b | 10/18/2026: A route's time is the sum of its route weights instead of its travel ticks, which counted its signals.</li>
+ *      </ul>
+ */
+final class RouteCache {
+    static final int ALTERNATIVES = 3;
+    static final double STRETCH = 1.25;
+    static final double SHARED = 0.8;
+    static final double SPREAD = 10;    //a route 10% longer than the shortest is picked e^-1 times as often
+
+    private final SignalGraph graph;
+    private final ConcurrentHashMap<Long, RouteSet> sets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for this class, the cache starts empty.
+     *
+     * @param graph     The map's signal graph.
+     * @author Erik Clary
+     * @since 1.33b
+     */
+    RouteCache(SignalGraph graph){
+        this.graph = graph;
+    }
+
+    /**
+     * This method returns the route set of a pair of signals, finding it with the given query if no car has had the pair yet.
+     * @param start     The id of the signal the routes start at.
+     * @param end       The id of the signal the routes end at.
+     * @param query     A query over the map's contraction hierarchy, owned by the calling thread.
+     * @return The pair's routes.
+     * @author Erik Clary
+     * @since 1.33b
+     */
+    RouteSet get(int start, int end, ContractionHierarchy.Query query){
+        Long pair = ((long)start<<32) | end;
+        RouteSet set = sets.get(pair);
+        if(set == null){
+            set = find(start, end, query);
+            RouteSet raced = sets.putIfAbsent(pair, set);
+            if(raced != null)
+                set = raced;
+        }
+        return set;
+    }
+
+    /**
+     * This method returns the amount of pairs whose routes have been found.
+     * @return The amount of route sets held.
+     * @author Erik Clary
+     * @since 1.33b
+     */
+    int size(){
+        return sets.size();
+    }
+
+    /**
+     * Finds the routes of a pair. If the end can not be reached the only route is the start, the car leaves the map there.
+     */
+    private RouteSet find(int start, int end, ContractionHierarchy.Query query){
+        int[][] found = query.alternatives(start, end, ALTERNATIVES, STRETCH, SHARED);
+        if(found.length == 0)
+            found = new int[][]{{start}};
+        TrafficSignal[][] routes = new TrafficSignal[found.length][];
+        long[] times = new long[found.length];
+        for(int x = 0; x<found.length; x++){
+            routes[x] = new TrafficSignal[found[x].length];
+            for(int y = 0; y<found[x].length; y++){
+                routes[x][y] = graph.signal(found[x][y]);
+                if(y > 0)
+                    times[x] += routes[x][y].getRouteWeight();
+            }
+        }
+        double[] cumulative = new double[found.length];
+        double total = 0;
+        for(int x = 0; x<found.length; x++){
+            total += times[0] == 0 ? 1 : Math.exp(-SPREAD*(times[x] - times[0])/times[0]);
+            cumulative[x] = total;
+        }
+        return new RouteSet(routes, cumulative);
+    }
+
+    /**
+     * The RouteSet class is the routes of one pair of signals and the weights they are picked by. It is never changed once found.
+     *
+     * @author Erik Clary
+     * @since 1.33b
+     */
+    static final class RouteSet {
+        private final TrafficSignal[][] routes;     //the shortest first
+        private final double[] cumulative;          //by route: the sum of the weights of the routes up to and including it
+
+        private RouteSet(TrafficSignal[][] routes, double[] cumulative){
+            this.routes = routes;
+            this.cumulative = cumulative;
+        }
+
+        /**
+         * This method picks one of the routes by weight. A set with one route draws nothing from the generator.
+         * @param draws The doubles from 0 to 1 to draw from, the car's generator.
+         * @return The route, shared by every car given it, so it must not be changed.
+         * @author Erik Clary
+         * @since 1.33b
+         */
+        TrafficSignal[] pick(DoubleSupplier draws){
+            if(routes.length == 1)
+                return routes[0];
+            double draw = draws.getAsDouble()*cumulative[routes.length-1];
+            for(int x = 0; x<routes.length-1; x++){
+                if(draw < cumulative[x])
+                    return routes[x];
+            }
+            return routes[routes.length-1];
+        }
+
+        /**
+         * This method returns the amount of routes in this set.
+         * @return The amount of routes, at least 1.
+         * @author Erik Clary
+         * @since 1.33b
+         */
+        int size(){
+            return routes.length;
+        }
+    }
+}
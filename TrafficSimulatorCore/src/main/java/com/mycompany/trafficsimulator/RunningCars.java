@@ -0,0 +1,101 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The RunningCars class is the set of cars in a map, kept in a dense array where every car knows its own index. Adding a car and
+ * removing any car take constant time: a removed car's place is filled with the last car. The order of the cars is therefore not the
+ * order they were added in, nothing in the map depends on it. Being a random access list, the tick engine can cut it into chunks
+ * and act them in parallel like any other phase.
+ * <p> It is only changed by the map's thread, between phases.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.22b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.22b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+final class RunningCars extends AbstractList<Car> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Car[] cars = new Car[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public Car get(int index){
+        if(index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size + " running cars");
+        return cars[index];
+    }
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    /**
+     * This method adds a car that is not running yet, at the end of the set.
+     * @param car   The car that was spawned.
+     * @return Always true.
+     * @author Erik Clary
+     * @since 1.22b
+     */
+    @Override
+    public boolean add(Car car){
+        if(car.getRunningIndex() != -1)
+            throw new IllegalStateException("Car " + car.getCarID() + " is already running");
+        if(size == cars.length)
+            cars = Arrays.copyOf(cars, size*2);
+        cars[size] = car;
+        car.setRunningIndex(size);
+        size++;
+        return true;
+    }
+
+    /**
+     * This method removes a running car in constant time, the last car takes its place.
+     * @param o     The car to remove.
+     * @return True if the car was in this set.
+     * @author Erik Clary
+     * @since 1.22b
+     */
+    @Override
+    public boolean remove(Object o){
+        if(!(o instanceof Car))
+            return false;
+        Car car = (Car)o;
+        int index = car.getRunningIndex();
+        if(index < 0 || index >= size || cars[index] != car)
+            return false;
+        int last = --size;
+        if(index != last){
+            cars[index] = cars[last];
+            cars[index].setRunningIndex(index);
+        }
+        cars[last] = null;
+        car.setRunningIndex(-1);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        if(!(o instanceof Car))
+            return false;
+        int index = ((Car)o).getRunningIndex();
+        return index >= 0 && index < size && cars[index] == o;
+    }
+
+    @Override
+    public void clear(){
+        for(int x = 0; x<size; x++){
+            cars[x].setRunningIndex(-1);
+            cars[x] = null;
+        }
+        size = 0;
+    }
+}
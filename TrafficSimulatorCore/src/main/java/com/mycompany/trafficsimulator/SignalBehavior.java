@@ -0,0 +1,135 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.Serializable;
+
+/**
+ * SignalBehavior class is an object to be used to encapsulate behaviors and actions
+ * of a TrafficSignal for it to reference.
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.02a
+ * <p> <b>Date Created: </b>October 25, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.02a | 10/26/2016: Initial commit </li> 
+ *          <li> 1.09a | 11/23/2016: Made final variables static so they may be referenced outside this class.</li>
+ *          <li> 1.10b | 11/27/2016: Balanced car amount to release, added javadoc.</li>
+ *          <li> 1.30b | 10/18/2026: The green times and release amounts are read from tables indexed by signal type instead of switch
+ *                                   statements, and behaviors are immutable: of returns the one shared default behavior of a type.
+ *                                   A scenario can give a type its own times through the new constructor, see ReadExcel.</li>
+ *      </ul>
+ */
+public class SignalBehavior implements Serializable {
+    public final int signalType;
+    public static final int DESPAWNER = 0;
+    public static final int PASSTHROUGH = 1;
+    public static final int STOPSIGN = 2;          //releases a car every 2 sec (this is only at T intersections so there are no 4-way stop signs)
+    public static final int TRAFFICLIGHTA = 3;     //green for 96 sec
+    public static final int TRAFFICLIGHTB = 4;     //green for 36 sec
+    public static final int TRAFFICLIGHTC = 5;     //green for 24 sec
+    
+    //the default behavior of each signal type, by type. Any other type functions for 1 second and releases 1 car.
+    private static final int[] GREEN_TIMES = {1, 1, 2, 96, 36, 24};
+    private static final int[] RELEASE_AMOUNTS = {15, 15, 1, 5, 3, 1};     //a despawner always releases all cars
+    private static final SignalBehavior[] DEFAULTS = new SignalBehavior[GREEN_TIMES.length];
+    static {
+        for(int x = 0; x<DEFAULTS.length; x++){
+            DEFAULTS[x] = new SignalBehavior(x, GREEN_TIMES[x], RELEASE_AMOUNTS[x]);
+        }
+    }
+    
+    private final int greenTime;
+    private final int releaseAmount;
+    
+    /**
+     * Constructor for signal type, should only be used with static variables included in this class. The behavior has the type's
+     * default times, use of to share the default behavior instead of creating a new one.
+     * @param signalType 
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    public SignalBehavior(int signalType) {
+        this(signalType, greenTimeOf(signalType), releaseAmountOf(signalType));
+    }
+    
+    /**
+     * Constructor for a signal type with its own times, used when a scenario overrides the defaults.
+     * @param signalType    One of the static variables included in this class.
+     * @param greenTime     The seconds the signal stays on for each time its group turns it on.
+     * @param releaseAmount The amount of cars the signal releases each second it is on.
+     * @throws IllegalArgumentException if a time or amount is not positive.
+     * @author Erik Clary
+     * @since 1.30b
+     */
+    public SignalBehavior(int signalType, int greenTime, int releaseAmount) {
+        if(greenTime <= 0 || releaseAmount <= 0)
+            throw new IllegalArgumentException("Signal type " + signalType + " must have a positive green time and release amount, was "
+                    + greenTime + " and " + releaseAmount + ".");
+        this.signalType = signalType;
+        this.greenTime = greenTime;
+        this.releaseAmount = releaseAmount;
+    }
+    
+    /**
+     * This method returns the default behavior of a signal type. Every signal of the type shares it, nothing is allocated.
+     * @param signalType    One of the static variables included in this class.
+     * @return The type's default behavior.
+     * @author Erik Clary
+     * @since 1.30b
+     */
+    public static SignalBehavior of(int signalType) {
+        if(signalType >= 0 && signalType < DEFAULTS.length)
+            return DEFAULTS[signalType];
+        return new SignalBehavior(signalType);
+    }
+    
+    /**
+     * This method returns the default behaviors of every known signal type, indexed by type. The array is a copy, a scenario
+     * replaces the types it overrides in it.
+     * @return The default behaviors, by type.
+     * @author Erik Clary
+     * @since 1.30b
+     */
+    public static SignalBehavior[] defaults() {
+        return DEFAULTS.clone();
+    }
+    
+    /**
+     * This method returns the time that a signal should function based on its type.
+     * @return The time as int in seconds that this signal should stay on for.
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    public int timeToFunction(){
+        return greenTime;
+    }
+
+    /**
+     * This method returns the amount of cars a signal should release based on its type.
+     * @return The amount of cars to release during one cycle (second) as int
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    public int getCarAmountToRelease() {
+        return releaseAmount;
+    }
+    
+    private static int greenTimeOf(int signalType){
+        return signalType >= 0 && signalType < GREEN_TIMES.length ? GREEN_TIMES[signalType] : 1;
+    }
+    
+    private static int releaseAmountOf(int signalType){
+        return signalType >= 0 && signalType < RELEASE_AMOUNTS.length ? RELEASE_AMOUNTS[signalType] : 1;
+    }
+    
+    /**
+     * A default behavior read back from a stream, as ReadExcel's deep clones are, is the shared one again.
+     */
+    private Object readResolve(){
+        if(signalType >= 0 && signalType < DEFAULTS.length && greenTime == GREEN_TIMES[signalType] && releaseAmount == RELEASE_AMOUNTS[signalType])
+            return DEFAULTS[signalType];
+        return this;
+    }
+    
+}
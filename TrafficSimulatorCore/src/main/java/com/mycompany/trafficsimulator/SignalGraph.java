@@ -0,0 +1,136 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+
+/**
+ * The SignalGraph class is the road network as an immutable graph over the traffic signals' int ids, in compressed sparse row form:
+ * the exits of every signal are stored one after the other in a single array, and each signal's exits start where the previous
+ * signal's end. The exits of a signal are the exit signals of the groups it is an entrance of, in group order.
+ * <p> It is built once by the map from its signal groups and answers "what are the exits of A" and "is B an exit of A" without
+ * scanning the groups or allocating, for the map's hand off and for DirectionCreation. It is never changed after it is built, so any
+ * number of threads can read it.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.24b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.24b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+final class SignalGraph {
+    private final TrafficSignal[] signals;  //by id
+    private final int[] exitStart;          //by id: the index in exits of the signal's first exit, exitStart[id+1] is one past its last
+    private final int[] exits;              //the exit ids of every signal, signal after signal
+
+    /**
+     * Constructor for this class, builds the graph of a network loaded by ReadExcel.
+     *
+     * @param trafficSignals    Every traffic signal of the network, in any order, numbered 0 to their amount - 1.
+     * @param signalGroups      Every signal group of the network, in the map's order.
+     * @throws IllegalArgumentException if the signals' ids are not dense and unique.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    SignalGraph(ArrayList<TrafficSignal> trafficSignals, ArrayList<SignalGroup> signalGroups){
+        int n = trafficSignals.size();
+        signals = new TrafficSignal[n];
+        for(TrafficSignal e: trafficSignals){
+            int id = e.getId();
+            if(id < 0 || id >= n || signals[id] != null)
+                throw new IllegalArgumentException("Traffic Signal " + e.getIdentifier() + " has id " + id
+                        + ", signals must be numbered 0 to " + (n-1) + " by ReadExcel.");
+            signals[id] = e;
+        }
+        exitStart = new int[n+1];
+        for(SignalGroup group: signalGroups){
+            for(TrafficSignal entrance: group.getEntranceSignals()){
+                exitStart[entrance.getId()+1] += group.getExitSignals().size();
+            }
+        }
+        for(int x = 0; x<n; x++){
+            exitStart[x+1] += exitStart[x];
+        }
+        exits = new int[exitStart[n]];
+        int[] filled = new int[n];
+        for(SignalGroup group: signalGroups){
+            for(TrafficSignal entrance: group.getEntranceSignals()){
+                int from = entrance.getId();
+                for(TrafficSignal exit: group.getExitSignals()){
+                    exits[exitStart[from] + filled[from]++] = exit.getId();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method returns the amount of signals in the graph.
+     * @return The amount of signals, ids run from 0 to this - 1.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    int size(){
+        return signals.length;
+    }
+
+    /**
+     * This method returns the signal with the given id.
+     * @param id    The signal's id.
+     * @return The map's own signal with that id.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    TrafficSignal signal(int id){
+        return signals[id];
+    }
+
+    /**
+     * This method returns where the given signal's exits start, see exitAt.
+     * @param id    The signal's id.
+     * @return The index of its first exit.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    int firstExit(int id){
+        return exitStart[id];
+    }
+
+    /**
+     * This method returns where the given signal's exits end, see exitAt.
+     * @param id    The signal's id.
+     * @return One past the index of its last exit, equal to firstExit if it has none.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    int endExit(int id){
+        return exitStart[id+1];
+    }
+
+    /**
+     * This method returns the exit at the given index, the exits of signal id are at firstExit(id) up to endExit(id).
+     * @param index The index of the exit.
+     * @return The exit's signal id.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    int exitAt(int index){
+        return exits[index];
+    }
+
+    /**
+     * This method returns true if a car released by one signal may go on to the other: the other is an exit of a group the first one enters.
+     * @param from  The id of the releasing signal.
+     * @param to    The id of the next signal.
+     * @return True if to is an exit of from.
+     * @author Erik Clary
+     * @since 1.24b
+     */
+    boolean isExit(int from, int to){
+        for(int x = exitStart[from]; x<exitStart[from+1]; x++){
+            if(exits[x] == to)
+                return true;
+        }
+        return false;
+    }
+}
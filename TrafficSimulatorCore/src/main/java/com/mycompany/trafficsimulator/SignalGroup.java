@@ -0,0 +1,320 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+/**
+ * Signal class is an object to be used to encapsulate a group of signals that it 
+ * operates, and the exit roads attached to it.
+ * 
+ * 
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.01a
+ * <p> <b>Date Created: </b>October 25, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.01a | 10/25/2016: Initial commit </li> 
+ *          <li> 1.02a | 10/26/2016: Added javadoc for existing methods. Added act method and finished it up, may require some tuning.</li> 
+ *          <li> 1.04a | 11/02/2016: Cleaned up javadoc </li>
+ *          <li> 1.05a | 11/07/2016: Revamped functionality for easier car passing; the exit road list is now populated by the traffic signals instead of the roads.
+ *                                   Added hasEntrance and getExits for functionality with DirectionCreation.</li>
+ *          <li> 1.09a | 11/23/2106: Added multithreading support, fixed bugs pertaining to handoff activation of traffic signals contained in this group</li>
+ *          <li> 1.15b | 10/18/2026: Added getEntranceSignals for partitioning the map.</li>
+ *          <li> 1.19b | 10/18/2026: Added writeState and readState for map checkpoints.</li>
+ *          <li> 1.23b | 10/18/2026: Added a dense int id, given by ReadExcel.</li>
+ *          <li> 1.25b | 10/18/2026: The operation order is compiled into a cyclic schedule when the group is created, act only moves the
+ *                                   group's place in the cycle. The signals on are the ones green at that place, the list of them
+ *                                   used to be added to every second and never cleared, so every signal stayed on once it had been on.
+ *                                   A phase now runs for its signals' times before the next one starts, it used to move on every second.
+ *                                   Added advance for skipping seconds, the checkpoint state is the place in the cycle.</li>
+ *          <li> 1.26b | 10/18/2026: Added secondsUntilChange, so the map only wakes the group when the signals it has on change.</li>
+ *      </ul>
+ */
+public class SignalGroup implements Actor, Runnable{
+    private final ArrayList<TrafficSignal> exitRoads;
+    private final ArrayList<TrafficSignal> trafficSignals;
+    private final ArrayList<TrafficSignal[]> operationOrder; //the order of the array list is the order 
+                                                            //that the signals operate, the TrafficSignal[] stored 
+                                                            //at each index are simultanious signals, so anything 
+                                                            //contained here is operated simultaniously.
+    private final TrafficSignal[] schedule;     //the signals on at every second of the cycle, second after second
+    private final int[] secondStart;            //by second of the cycle: the index in schedule of its first signal, secondStart[s+1] is one past its last
+    private final int[] changeIn;               //by second of the cycle: the seconds until the signals on are different
+    private int cycleSecond;                    //the second of the cycle this group is on, -1 before it first acts
+    private int id = -1;    //dense, in sheet order, so it is also this group's index in its map
+    /**
+     * Constructor for this class. 
+     * 
+     * @param exitRoads             the roads that exit from this signalGroups
+     * @param trafficSignals        an ArrayList of trafficSignals that is part of this group
+     * @param operationOrder        an ArrayList of trafficSignal arrays. Each signal in the array must be contained in the trafficSignals ArrayList.
+     *          `                   Items in the array are ones that function simultaneously on a tick.
+     * @author Erik Clary
+     * @since 1.01a
+     */
+    public SignalGroup(ArrayList<TrafficSignal> exitRoads, ArrayList<TrafficSignal> trafficSignals, ArrayList<TrafficSignal[]> operationOrder){
+        this.exitRoads = exitRoads;
+        this.trafficSignals = trafficSignals;
+        this.operationOrder = operationOrder;
+        //each operation runs until its longest signal is done, a signal is on for the seconds of its behavior's time, then the
+        //group waits one second with every signal off before the next operation.
+        int cycleLength = 0, scheduled = 0;
+        for(TrafficSignal[] operation: operationOrder){
+            int longest = 0;
+            for(TrafficSignal e: operation){
+                int time = e.getBehavior().timeToFunction();
+                longest = Math.max(longest, time);
+                scheduled += time;
+            }
+            cycleLength += longest + 1;
+        }
+        schedule = new TrafficSignal[scheduled];
+        secondStart = new int[cycleLength+1];
+        int second = 0, filled = 0;
+        for(TrafficSignal[] operation: operationOrder){
+            int[] times = new int[operation.length];
+            int longest = 0;
+            for(int i = 0; i<operation.length; i++){
+                times[i] = operation[i].getBehavior().timeToFunction();
+                longest = Math.max(longest, times[i]);
+            }
+            for(int t = 0; t<=longest; t++){
+                secondStart[second++] = filled;
+                for(int i = 0; i<operation.length; i++){
+                    if(t < times[i])
+                        schedule[filled++] = operation[i];
+                }
+            }
+        }
+        secondStart[cycleLength] = filled;
+        changeIn = new int[cycleLength];
+        for(int lap = 0; lap<2; lap++){    //the second lap carries the count past the end of the cycle back to its start
+            for(int x = cycleLength-1; x>=0; x--){
+                int following = (x+1)%cycleLength;
+                changeIn[x] = sameSignalsOn(x, following) ? Math.min(cycleLength, changeIn[following]+1) : 1;
+            }
+        }
+        cycleSecond = -1;
+    }   
+
+    /**
+     * This method returns the dense id of this signal group, groups are numbered in sheet order so the id is also the group's index in its map.
+     * @return The id, -1 if it was never given one.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    public int getId(){
+        return id;
+    }
+    
+    /**
+     * This method gives this signal group its dense id, only ReadExcel should call this method, when it loads the network.
+     * @param id    The id, from 0 to the amount of signal groups in the network - 1.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    void setId(int id){
+        this.id = id;
+    }
+    /**
+     * act moves this group to the next second of its cycle. The signals on at that second are then the ones returned by
+     * firstSignalOn, endSignalOn and scheduledSignal. The cycle is compiled from the operation order when the group is created:
+     * <ol>
+     *      <li>The operations run one after the other, in order, and the cycle starts over after the last one.</li>
+     *      <li>Every signal of an operation is on for the time of its behavior, from the operation's first second.</li>
+     *      <li>When every signal of an operation is done, the group waits one second with all of them off before the next operation.</li>
+     * </ol>
+     * Remember, the map/stage will make the signals act, not this object.
+     * <br>
+     * <b>Remember, the order of ticks must go: Car - SignalGroup - TrafficSignal, this way the en-route cars are moved into position before being flag checked by the TrafficSignals.</b>
+     * <br>
+     * Movement algorithm: Car acts are called first, then SignalGroup (which contain multiple TrafficSignals)
+     * make their TrafficSignals act, finally the signal groups pull Cars from the outGoingCars
+     * Array and sends them (adds them to the next TrafficSignals feederArray) to their next destination.
+     * 
+     * @author Erik Clary
+     * @since 1.01a
+     */
+    public void act(){ 
+        advance(1);
+    }
+    
+    /**
+     * This method moves this group the given amount of seconds through its cycle at once, as if act was called that many times.
+     * @param seconds   The amount of seconds, 0 or more.
+     * @author Erik Clary
+     * @since 1.25b
+     */
+    void advance(int seconds){
+        int cycleLength = secondStart.length-1;
+        if(cycleLength > 0)
+            cycleSecond = (int)(((long)cycleSecond + seconds) % cycleLength);
+    }
+
+    /**
+     * This method returns the amount of seconds from the group's current second until the signals it has on change.
+     * @return The seconds until a phase change, 1 before the group first acts, or -1 if the group has no operations and never changes.
+     * @author Erik Clary
+     * @since 1.26b
+     */
+    int secondsUntilChange(){
+        if(changeIn.length == 0)
+            return -1;
+        return cycleSecond < 0 ? 1 : changeIn[cycleSecond];
+    }
+    
+    /**
+     * Returns true if the same signals are on at both seconds of the cycle, the schedule keeps each operation's signals in order.
+     */
+    private boolean sameSignalsOn(int second, int other){
+        int length = secondStart[second+1] - secondStart[second];
+        if(length != secondStart[other+1] - secondStart[other])
+            return false;
+        for(int x = 0; x<length; x++){
+            if(schedule[secondStart[second]+x] != schedule[secondStart[other]+x])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method returns the signals this group has on at its current second, as a new list. The map reads them through
+     * firstSignalOn, endSignalOn and scheduledSignal instead.
+     * @return The signals on, empty before the group first acts.
+     * @author Erik Clary
+     * @since 1.01a
+     */
+    public ArrayList<TrafficSignal> getSignalsOn(){
+        ArrayList<TrafficSignal> on = new ArrayList<>();
+        for(int x = firstSignalOn(); x<endSignalOn(); x++){
+            on.add(schedule[x]);
+        }
+        return on;
+    }
+    
+    /**
+     * This method returns where the signals on at the current second start, see scheduledSignal.
+     * @return The index of the first signal on.
+     * @author Erik Clary
+     * @since 1.25b
+     */
+    int firstSignalOn(){
+        return cycleSecond < 0 ? 0 : secondStart[cycleSecond];
+    }
+    
+    /**
+     * This method returns where the signals on at the current second end, see scheduledSignal.
+     * @return One past the index of the last signal on, equal to firstSignalOn if none are on.
+     * @author Erik Clary
+     * @since 1.25b
+     */
+    int endSignalOn(){
+        return cycleSecond < 0 ? 0 : secondStart[cycleSecond+1];
+    }
+    
+    /**
+     * This method returns the signal at the given index of the schedule, the signals on are at firstSignalOn() up to endSignalOn().
+     * @param index The index in the schedule.
+     * @return The group's copy of the signal.
+     * @author Erik Clary
+     * @since 1.25b
+     */
+    TrafficSignal scheduledSignal(int index){
+        return schedule[index];
+    }
+
+    /**
+     * This method checks if both of the unique id's are contained in this signal group. Map's verifyNextDirection does the same check
+     * on the groups' int ids.
+     * 
+     * @param id1   unique signal ID for one signal
+     * @param id2   unique signal ID for the other signal
+     * @return True if both of the unique ID's are contained in this signal group.  False otherwise.
+     * @see Map
+     * @since 1.05a
+     */
+    public boolean containsBoth(String id1, String id2) {
+        boolean exit= false, feeder = false;
+        for(int x = 0; x<exitRoads.size(); x++){
+            if(exitRoads.get(x).getIdentifier().equalsIgnoreCase(id2) || exitRoads.get(x).getIdentifier().equalsIgnoreCase(id1)){
+                exit = true;
+            }
+        }
+        for(int x = 0; x<trafficSignals.size(); x++){
+            if(trafficSignals.get(x).getIdentifier().equalsIgnoreCase(id2) || trafficSignals.get(x).getIdentifier().equalsIgnoreCase(id1)){
+                feeder = true;
+            }
+        }
+        return (feeder && exit);
+    }
+
+    /**
+     * This method returns true if the passed TrafficSignal's ID is contined in this group's traffic signals.
+     * 
+     * @param currentPoint The traffic signal to be found in this group.
+     * @return True if the parameter is contained within this signal group's TrafficSignals.
+     * @since 1.05a
+     */
+    public boolean hasEntrance(TrafficSignal currentPoint) {
+        return trafficSignals.contains(currentPoint);
+    }
+
+    /**
+     * This method returns the exit signals contained in this group.
+     * @return The exit roads of this SignalGroup.
+     * @since 1.05a
+     */
+    ArrayList<TrafficSignal> getExitSignals() {
+        return exitRoads;
+    }
+
+    /**
+     * This method returns the traffic signals that enter this group.
+     * @return The traffic signals of this SignalGroup.
+     * @since 1.15b
+     */
+    ArrayList<TrafficSignal> getEntranceSignals() {
+        return trafficSignals;
+    }
+
+    /**
+     * This method writes this group's place in its cycle to a map checkpoint.
+     * @param out   The checkpoint being written.
+     * @throws IOException if the checkpoint can not be written.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void writeState(DataOutputStream out) throws IOException{
+        out.writeInt(cycleSecond);
+    }
+    
+    /**
+     * This method replaces this group's state with the state written by writeState.
+     * @param in    The checkpoint being read.
+     * @throws IOException if the checkpoint can not be read, or does not fit this group's cycle.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void readState(DataInputStream in) throws IOException{
+        int second = in.readInt();
+        if(second < -1 || second >= secondStart.length-1)
+            throw new IOException("Checkpoint does not match the signal group's operation order.");
+        cycleSecond = second;
+    }
+    
+    /**
+     * This method enables the multithreading of the signal group's operation.
+     * @author Erik Clary
+     * @since 1.09a
+     */
+    @Override
+    public void run() {
+        act();
+    }
+
+}
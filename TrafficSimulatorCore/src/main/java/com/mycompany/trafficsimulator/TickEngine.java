@@ -0,0 +1,205 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.function.IntConsumer;
+
+/**
+ * The TickEngine class is the long-lived worker pool that Map uses to make its actors act. The worker threads are created once
+ * when the engine is built and are kept alive for the entire simulation; each tick is broken into phases (the map's Car phase)
+ * and every phase is separated from the next by a reusable Phaser barrier, so no actor of a phase acts before the previous phase has finished.
+ * The thread calling runTick takes part in the work as worker 0, so an engine with one worker never starts a thread.
+ * <br>
+ * Each phase is split into cost-balanced chunks by its ChunkScheduler, and the workers steal chunks from each other once their own run out.
+ * Work that is owned by a worker (a partition of the map) is run with runPartitioned, where worker x always runs partition x.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.11b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.11b | 10/18/2026: Initial commit </li>
+ *          <li> 1.12b | 10/18/2026: Phases are run as chunks through a ChunkScheduler instead of fixed stripes. Added chunk timing report.</li>
+ *          <li> 1.15b | 10/18/2026: Added runPartitioned and getWorkerCount for the map's partitioned signal handoff.</li>
+ *      </ul>
+ */
+class TickEngine {
+    private final int workerCount;
+    private final Thread[] workers;
+    private final Phaser barrier;
+    private final ArrayList<ChunkScheduler> phases;
+    private int chunkCost;
+    private volatile IntConsumer partitionJob;
+    private volatile boolean running;
+    private volatile Throwable failure;
+
+    /**
+     * Constructor for this class, starts the worker threads. The threads wait on the barrier until the first tick is run.
+     *
+     * @param workerCount   The amount of workers (including the calling thread) that will split each phase. Must be at least 1.
+     * @author Erik Clary
+     * @since 1.11b
+     */
+    TickEngine(int workerCount){
+        this.workerCount = Math.max(1, workerCount);
+        barrier = new Phaser(this.workerCount);
+        phases = new ArrayList<>();
+        chunkCost = ChunkScheduler.DEFAULT_CHUNK_COST;
+        running = true;
+        workers = new Thread[this.workerCount-1];
+        for(int x = 0; x<workers.length; x++){
+            final int workerIndex = x+1;
+            workers[x] = new Thread(() -> work(workerIndex), "TickEngine-worker-" + workerIndex);
+            workers[x].setDaemon(true);
+            workers[x].start();
+        }
+    }
+
+    /**
+     * This method adds a phase to every tick this engine runs, phases run in the order they are added. Only call this method before the first tick.
+     *
+     * @param phaseName     The name of the phase, used in the chunk timing report.
+     * @param weighted      True if the phase's actors have different costs (see Actor.getActCost), false if they all cost the same.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    void addPhase(String phaseName, boolean weighted){
+        phases.add(new ChunkScheduler(phaseName, weighted, workerCount));
+    }
+
+    /**
+     * This method sets the estimated cost that each chunk of a phase should add up to. Smaller chunks balance better between the
+     * workers, larger chunks spend less time being scheduled.
+     * @param cost  The cost of a chunk, must be at least 1.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    void setChunkCost(int cost){
+        chunkCost = Math.max(1, cost);
+    }
+
+    /**
+     * This method runs one tick of the simulation: each phase is run by all workers, and the next phase is not started until
+     * every actor of the current phase has acted. This method returns once the final phase has finished.
+     *
+     * @param phaseActors   The actors of each phase, in the order the phases were added.
+     * @author Erik Clary
+     * @since 1.11b
+     */
+    @SafeVarargs
+    final void runTick(List<? extends Actor>... phaseActors){
+        for(int x = 0; x<phases.size(); x++){
+            phases.get(x).plan(phaseActors[x], chunkCost);     //planned before the workers are released, the barrier publishes the plans
+        }
+        barrier.arriveAndAwaitAdvance();        //releases the workers into the first phase
+        for(ChunkScheduler phase: phases){
+            runPhase(phase, 0);
+            barrier.arriveAndAwaitAdvance();
+        }
+        if(failure != null)
+            throw new IllegalStateException("An actor failed during a tick", failure);
+    }
+
+    /**
+     * This method runs one job on every worker at once, each worker is given its own index so that it only touches the partition it owns.
+     * This method returns once every worker has finished.
+     *
+     * @param job   The job to run, called with the index of the worker running it (0 to getWorkerCount()-1).
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    void runPartitioned(IntConsumer job){
+        partitionJob = job;
+        barrier.arriveAndAwaitAdvance();        //releases the workers into the job
+        runPartition(job, 0);
+        barrier.arriveAndAwaitAdvance();
+        partitionJob = null;
+        if(failure != null)
+            throw new IllegalStateException("A partition failed during a tick", failure);
+    }
+
+    /**
+     * This method returns the amount of workers in this engine, which is also the amount of partitions runPartitioned runs.
+     * @return The amount of workers, including the calling thread.
+     * @author Erik Clary
+     * @since 1.15b
+     */
+    int getWorkerCount(){
+        return workerCount;
+    }
+
+    /**
+     * This method stops the worker threads, it should be called once the simulation has finished. The engine can not be used after this call.
+     * @author Erik Clary
+     * @since 1.11b
+     */
+    void shutdown(){
+        if(!running)
+            return;
+        running = false;
+        barrier.arriveAndDeregister();         //the workers wake up, see that the engine has stopped, and exit.
+    }
+
+    /**
+     * This method returns the chunk timing of every phase, one line per phase. Only call this method between ticks.
+     * @return The chunk timing report of this engine.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    String getChunkReport(){
+        StringBuilder report = new StringBuilder();
+        for(ChunkScheduler phase: phases){
+            report.append(phase.getReport()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * This is the loop run by each worker thread: wait for a tick to start, then run chunks of each phase, waiting on the barrier
+     * between phases. If a partitioned job was started instead of a tick, run the worker's partition of it.
+     * @param workerIndex   The index of this worker, which owns the matching run of chunks in each phase.
+     */
+    private void work(int workerIndex){
+        while(true){
+            barrier.arriveAndAwaitAdvance();
+            if(!running){
+                barrier.arriveAndDeregister();
+                return;
+            }
+            IntConsumer job = partitionJob;
+            if(job != null){
+                runPartition(job, workerIndex);
+                barrier.arriveAndAwaitAdvance();
+                continue;
+            }
+            for(ChunkScheduler phase: phases){
+                runPhase(phase, workerIndex);
+                barrier.arriveAndAwaitAdvance();
+            }
+        }
+    }
+
+    /**
+     * This method runs the worker's chunks of the phase. A failure is stored instead of thrown so that the worker still arrives at the barrier.
+     */
+    private void runPhase(ChunkScheduler phase, int workerIndex){
+        try{
+            phase.runChunks(workerIndex);
+        }catch(RuntimeException | Error e){
+            failure = e;
+        }
+    }
+
+    /**
+     * This method runs the worker's partition of a job, storing a failure instead of throwing it.
+     */
+    private void runPartition(IntConsumer job, int workerIndex){
+        try{
+            job.accept(workerIndex);
+        }catch(RuntimeException | Error e){
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.Arrays;
+
+/**
+ * The TimingWheel class holds one deadline for each of a fixed amount of int ids, and hands the ids back on the tick their deadline
+ * comes due. It is a hierarchical timing wheel: the lowest level has a slot for each of the next 64 ticks, each level above has slots
+ * 64 times as wide, and the ids in a slot of a higher level are spread over the level below when the clock reaches that slot. Scheduling
+ * an id costs O(1), and so does every tick the clock moves, whatever the amount of ids held.
+ * <p> The ids of a slot are kept in linked lists threaded through an array by id, so nothing is allocated after the wheel is built.
+ * An id can only be held once, it is scheduled again after it has come due.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.26b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.26b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1<<SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS-1;
+    private static final int LEVELS = 4;                            //deadlines up to 64^4 ticks ahead of the clock
+    private static final long HORIZON = 1L<<(SLOT_BITS*LEVELS);
+
+    private final int[][] heads;    //by level and slot: the first id in the slot, -1 if it is empty
+    private final int[] next;       //by id: the next id in its slot, -1 if it is the last
+    private final int[] deadline;   //by id: the tick it is due on, -1 if it is not held
+    private int now;                //the last tick handed out, every deadline held is after it
+
+    /**
+     * Constructor for this class.
+     *
+     * @param ids   The amount of ids, from 0 to this - 1.
+     * @param now   The tick the clock starts on, the first ids can be due on the tick after it.
+     * @author Erik Clary
+     * @since 1.26b
+     */
+    TimingWheel(int ids, int now){
+        heads = new int[LEVELS][SLOTS];
+        for(int[] level: heads){
+            Arrays.fill(level, -1);
+        }
+        next = new int[ids];
+        deadline = new int[ids];
+        Arrays.fill(deadline, -1);
+        this.now = now;
+    }
+
+    /**
+     * This method holds an id until the given tick.
+     * @param id    An id that is not held.
+     * @param tick  The tick it is due on, after the clock's tick.
+     * @throws IllegalArgumentException if the id is already held, or the tick is not after the clock or too far beyond it.
+     * @author Erik Clary
+     * @since 1.26b
+     */
+    void schedule(int id, int tick){
+        if(deadline[id] != -1)
+            throw new IllegalArgumentException("Id " + id + " is already due on tick " + deadline[id] + ".");
+        if(tick <= now || tick - (long)now >= HORIZON)
+            throw new IllegalArgumentException("Tick " + tick + " can not be scheduled when the clock is on tick " + now + ".");
+        deadline[id] = tick;
+        insert(id);
+    }
+
+    /**
+     * This method moves the clock forward to the given tick and hands out every id that came due on the way, in no particular order.
+     * The ids handed out are no longer held.
+     * @param tick  The tick to move the clock to, it does not move if this is not after it.
+     * @param due   Filled with the ids that came due, it must have room for every id.
+     * @return The amount of ids written to due.
+     * @author Erik Clary
+     * @since 1.26b
+     */
+    int advanceTo(int tick, int[] due){
+        int count = 0;
+        while(now < tick){
+            now++;
+            for(int level = 1; level<LEVELS && (now & ((1<<(SLOT_BITS*level))-1)) == 0; level++){
+                cascade(level, (now>>>(SLOT_BITS*level)) & SLOT_MASK);
+            }
+            int slot = now & SLOT_MASK;
+            for(int id = heads[0][slot]; id != -1; id = next[id]){
+                deadline[id] = -1;
+                due[count++] = id;
+            }
+            heads[0][slot] = -1;
+        }
+        return count;
+    }
+
+    /**
+     * Empties a slot of a higher level into the levels below it, the clock has just reached the first tick of the slot.
+     */
+    private void cascade(int level, int slot){
+        int id = heads[level][slot];
+        heads[level][slot] = -1;
+        while(id != -1){
+            int following = next[id];
+            insert(id);
+            id = following;
+        }
+    }
+
+    /**
+     * Puts an id in the slot of the lowest level that its deadline is in reach of. A deadline on the clock's own tick goes in the
+     * lowest level, which is about to be emptied.
+     */
+    private void insert(int id){
+        long ahead = deadline[id] - (long)now;
+        int level = 0;
+        while(level < LEVELS-1 && ahead >= 1L<<(SLOT_BITS*(level+1))){
+            level++;
+        }
+        int slot = (deadline[id]>>>(SLOT_BITS*level)) & SLOT_MASK;
+        next[id] = heads[level][slot];
+        heads[level][slot] = id;
+    }
+}
@@ -0,0 +1,573 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Traffic Signal class is an object to be used as a part of a traffic signal group.
+ * 
+ * 
+ * 
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.0a
+ * <p> <b>Date Created: </b>October 24, 2016 
+ * <p> <b>Version Comments:</b> 
+ *      <ul> 
+ *          <li> 1.00a | 10/24/2016:    Initial commit </li> 
+ *          <li> 1.01a | 10/25/2016:    Added source road that feeds this traffic 
+ *                                      signal for functionality with signal groups 
+ *                                      and map. Also added .equals comparator and getIdentifier</li>
+ *          <li> 1.02a | 10/26/2016:    Implemented Actor interface and its corresponding methods,
+ *                                      added flag implementation through thisSignalOn method.</li> 
+ *          <li> 1.04a | 11/02/2016:    Cleaned up javadoc, added comparable to ready this class
+ *                                      for use in sorts.</li> 
+ *          <li> 1.05a | 11/07/2016:    Added missing javadoc, and @since tags.
+ *                                      Implemented Comparator, and added required methods.
+ *                                      Added overriding .equals for compatibility with ArrayList.contains</li>
+ *          <li> 1.08a | 11/14/2016:    Added functionality for Chris' change from string finding on traffic signals to passing the object (implements serializable)</li>
+ *          <li> 1.09a | 11/23/2016:    Added metric functionality as per Joey's documentation. Added multithreading support for this class' logic, and fixed bugs pertaining.</li> 
+ *          <li> 1.10b | 11/27/2016:    Added a method that returns the amount of cars that have passed through this signal to prepare for the analytics pull.
+ *          <li> 1.12b | 10/18/2026:    Added getActCost, a signal's act grows with the cars on its road and in its queue.</li>
+ *          <li> 1.13b | 10/18/2026:    Added enqueueArrival and releaseAt for the event driven engine.</li>
+ *          <li> 1.14b | 10/18/2026:    Added hasWaitingCars, getNextArrival and lightOff so the map can skip idle seconds.</li>
+ *          <li> 1.16b | 10/18/2026:    Added an inbound queue that releasing signals push cars into from any thread, delivered to the
+ *                                      feeder road in release order by deliverInboundCars.</li>
+ *          <li> 1.17b | 10/18/2026:    Logs through java.util.logging instead of the JavaFX media logger, so the core module needs no JavaFX.</li>
+ *          <li> 1.19b | 10/18/2026:    Added writeState and readState for map checkpoints.</li>
+ *          <li> 1.23b | 10/18/2026:    Added a dense int id, given by ReadExcel, that the map indexes its signals by.</li>
+ *          <li> 1.26b | 10/18/2026:    The light stays on for the signal's whole green window, act and releaseAt no longer turn it off.</li>
+ *          <li> 1.27b | 10/18/2026:    The feeder road is a FIFO in the order the cars entered it, act only looks at its head instead of
+ *                                      scanning and removing from the middle of the road.</li>
+ *          <li> 1.28b | 10/18/2026:    The queue and the outgoing cars are CarRings, a release moves the cars from one to the other in bulk.</li>
+ *          <li> 1.29b | 10/18/2026:    The waits of the released cars are kept as WaitStatistics with percentiles instead of a list of every
+ *                                      wait. Added getWaitStatistics.</li>
+ *          <li> 1.30b | 10/18/2026:    A signal holds its SignalBehavior, the type's shared default or one given by the scenario, instead of
+ *                                      creating one on every getBehavior call.</li>
+ *          <li> 1.31b | 10/18/2026:    The seconds each car type takes on the feeder road are worked out once, see getTravelTicks.</li>
+ *          <li> 1.36b | 10/18/2026:    Removed the inbound queue, the map delivers handed off cars from its partition mailboxes. The feeder
+ *                                      road's routing weight is worked out once, see getRouteWeight. getActCost counts the cars on the feeder
+ *                                      road as well as the queue.</li>
+ *      </ul>
+ */
+    public class TrafficSignal implements Actor, Comparable, Comparator<TrafficSignal>, Serializable, Runnable{
+    private final int signalType;
+    private final SignalBehavior behavior;
+    private final CarRing carQueue;
+    private final ArrayDeque<Car> roadCars;  //in the order the cars entered the road. Every car takes the road's time, so this is also the order they reach the signal
+    private final CarRing outGoingCars; //emptied by the map every second once it has moved the cars on
+    private final Road sourceRoad;
+    private final int[] travelTicks;    //by car type, the seconds a car takes on the feeder road
+    private final int routeWeight;      //the hundredths of a second a regular car takes on the feeder road, routes are found by it
+    private final int[] coordinates;
+    private final String identifier;
+    private int id = -1;    //dense, in identifier order, so it is also this signal's index in its map. Copies made by deepClone keep it.
+    private boolean lightActive;
+    private final WaitStatistics waitTimes;     //of every car this signal has released
+    
+    /**
+     * Constructor for this class, accepts an integer as signal type,
+     * MUST USE SignalBehavior.TYPE_#, in order to function properly
+     * 
+     * @param SIGNAL_TYPE       value of the signal type, must come from SignalBehavior class'
+     *                          dictionary 
+     * @param feedingRoad       the road that feeds into this traffic signal
+     * @param uniqueIdentifier  the unique identifier that represents this traffic signal.
+     * @param coordinates       an array of size 2 that contains the x,y coordinates of this traffic signal. <b>Note: This must be of size 2</b>
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public TrafficSignal(int SIGNAL_TYPE, Road feedingRoad, String uniqueIdentifier, int[] coordinates) {
+        this(SignalBehavior.of(SIGNAL_TYPE), feedingRoad, uniqueIdentifier, coordinates);
+    }
+    
+    /**
+     * Constructor for this class with the behavior of its signal type, used when a scenario overrides the type's default behavior.
+     * 
+     * @param behavior          the behavior of this signal, its signal type is this signal's type
+     * @param feedingRoad       the road that feeds into this traffic signal
+     * @param uniqueIdentifier  the unique identifier that represents this traffic signal.
+     * @param coordinates       an array of size 2 that contains the x,y coordinates of this traffic signal. <b>Note: This must be of size 2</b>
+     * @author Erik Clary
+     * @since 1.30b
+     */
+    public TrafficSignal(SignalBehavior behavior, Road feedingRoad, String uniqueIdentifier, int[] coordinates) {
+        this.signalType = behavior.signalType;
+        this.behavior = behavior;
+        sourceRoad = feedingRoad;
+        travelTicks = CarBehavior.getTravelTicks(this);
+        routeWeight = CarBehavior.getRouteWeight(this);
+        identifier = uniqueIdentifier;
+        lightActive = false;
+        outGoingCars = new CarRing();
+        this.coordinates = coordinates;
+        carQueue = new CarRing();
+        roadCars = new ArrayDeque<>();
+        waitTimes = new WaitStatistics(true);
+    }
+    
+    /**
+     * This method returns the amount of seconds a car of the given type takes on this signal's feeder road, before it reaches the signal.
+     * 
+     * @param carType   The car's type.
+     * @return The seconds, at least one, CarBehavior.NEVER if the road can not be driven.
+     * @author Erik Clary
+     * @since 1.31b
+     */
+    int getTravelTicks(int carType){
+        return carType < travelTicks.length ? travelTicks[carType] : CarBehavior.toTicks(CarBehavior.getTime(carType, this));
+    }
+    
+    /**
+     * This method returns how long a regular car takes on this signal's feeder road, the weight routes are found by. The travel ticks
+     * are only used to count down a car's time on the road.
+     * 
+     * @return The hundredths of a second, at least one, CarBehavior.NEVER if the road can not be driven.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    int getRouteWeight(){
+        return routeWeight;
+    }
+    
+    /**
+     * addCar method adds a car to this TrafficSignal's feeder road.
+     * 
+     * @param inCar         The car to be added to this signals feeder road.
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public void addCar(Car inCar){
+        if(!roadCars.add(inCar))
+            Logger.getLogger(TrafficSignal.class.getName()).log(Level.FINE, "Car feeder array out of space, in object: " + this);
+    }
+    
+    /**
+     * removeNextCar dequeues the next car in this TrafficSignal's queue and returns it.
+     * 
+     * @return a Car object
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public Car removeNextCar(){
+        return carQueue.poll();
+    }
+    
+    /**
+     * getBehavior returns this TrafficSignal's behavior 
+     * 
+     * @return a SignalBehavior object representative of this signal's behavior
+     * @author Erik Clary
+     * @since 1.00a
+     */
+    public SignalBehavior getBehavior(){
+        return behavior;
+    }
+    
+    /**
+     * getIdentifier method returns the unique identifier attached to this TrafficSignal
+     * 
+     * @return String: the identifier unique to this TrafficSignal
+     * @author Erik Clary
+     * @since 1.01a
+     */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+    /**
+     * This method returns the dense id of this traffic signal, signals are numbered in identifier order so the id is also the signal's index in its map.
+     * @return The id, -1 if it was never given one.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    public int getId(){
+        return id;
+    }
+    
+    /**
+     * This method gives this traffic signal its dense id, only ReadExcel should call this method, when it loads the network.
+     * @param id    The id, from 0 to the amount of traffic signals in the network - 1.
+     * @author Erik Clary
+     * @since 1.23b
+     */
+    void setId(int id){
+        this.id = id;
+    }
+
+
+    /**
+     * getSignalType method returns the signal attached to this
+     * TrafficSignal
+     *
+     * @return an integer that is the signal type unique to this
+     * TrafficSignal
+     * @author Chris Tisdale
+     * @since 1.06a
+    */
+        public int getSignalType() {
+            return signalType;
+        }
+        
+     /**
+     * getSourceRoad method returns the road attached to this
+     * TrafficSignal
+     *
+     * @return a road that is unique to this TrafficSignal
+     * @author Chris Tisdale
+     * @since 1.07a
+    */
+        public Road getSourceRoad() {
+            return sourceRoad;
+        }
+        
+    /**
+     * equals compares two traffic signals, true if equal, false if they are not
+     * this method compares the unique identifiers attached to the signal.
+     * 
+     * @param E                 The traffic signal to compare this to
+     * @author Erik Clary
+     * @return True if the two signal's unique identifiers are equal. False otherwise.
+     * @since 1.01a
+     */
+    public boolean equals(TrafficSignal E){
+        return this.identifier.equals(E.getIdentifier());
+    }
+    
+    /**
+     * equals compares two traffic signals, true if equal, false if they are not
+     * this method compares the unique identifiers attached to the signal.
+     * 
+     * @param E                 The traffic signal to compare this to
+     * @author Erik Clary
+     * @return True if the two signal's unique identifiers are equal. False otherwise.
+     * @since 1.05a
+     */
+    @Override
+    public boolean equals(Object E){
+        return this.identifier.equals(((TrafficSignal)E).getIdentifier());
+    }
+    
+    /**
+     * thisSignalOn sets the lightActive flag to true. This is to limit out of
+     * class access to this variable.
+     * 
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    public void thisSignalOn(){
+        lightActive = true;
+    }
+
+    /**
+     * lightOff sets the lightActive flag to false, the map does when the green window of this signal ends.
+     * 
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    void lightOff(){
+        lightActive = false;
+    }
+    
+    /**
+     * This method returns true if this signal has cars that could be released: cars in its queue or outgoing cars not yet moved by the map.
+     * @return True if cars are waiting at this signal, false otherwise.
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    boolean hasWaitingCars(){
+        return !carQueue.isEmpty() || !outGoingCars.isEmpty();
+    }
+    
+    /**
+     * This method returns the first second that a car on this signal's feeder road will reach the signal, if the cars act from the given second on.
+     * That is the second the car at the head of the road arrives, no car behind it arrives sooner.
+     * @param tick  The running second the cars on the road act next.
+     * @return The second of the next arrival, Integer.MAX_VALUE if the road is empty.
+     * @author Erik Clary
+     * @since 1.14b
+     */
+    int getNextArrival(int tick){
+        Car head = roadCars.peek();
+        return head == null ? Integer.MAX_VALUE : tick + head.getTicksOnCurrentRoad() - 1;
+    }
+    
+    /**
+     * act works in three steps: 
+     * <ol>
+     *      <li>Add the cars that have reached the end of the feeder road to the signal's pending queue. They are the cars at the head
+     *          of the road, the first car still travelling has every car behind it travelling too.</li>
+     *      <li>Dequeue amount of cars based on this signal's behavior, and adds them to the outgoing 
+     *          car array.</li>
+     * </ol>
+     * The active flag is left as it is, the map turns it on and off when this signal's group changes phase.
+     * <br>
+     * <b>Remember, the order of ticks must go: Car - SignalGroup - TrafficSignal, this way the en-route cars are moved into position before being flag checked by the TrafficSignals.</b>
+     * <br>
+     * Movement algorithm: Car acts are called first, then SignalGroup (which contain multiple TrafficSignals)
+     * make their TrafficSignals act, finally the signal groups pull Cars from the outGoingCars
+     * Array and sends them (adds them to the next TrafficSignals feederArray) to their next destination.
+     * 
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    @Override
+    public void act() {
+        //Step 1: add the cars that have arrived, from the head of the road
+        Car arrived;
+        while((arrived = roadCars.peek()) != null && arrived.getCarStatus() == Car.WAITING_TO_ENTER_SIGNAL_QUEUE){
+            roadCars.poll();
+            arrived.carAddedToSignal();
+            carQueue.add(arrived);
+        }
+        //Step 2: Check to see if signal is active: if so, then dequeue a car on tick, add to outgoing array, then sets light to false.
+        if(lightActive){
+            releaseQueuedCars(-1);
+        }
+    }
+    
+    /**
+     * This method adds a car that has reached the end of this signal's road straight into the signal's queue. It is used
+     * by the event driven engine in place of addCar, the car does not wait on the feeder road.
+     * @param inCar     The car that has arrived at this signal.
+     * @param tick      The running second the car arrived on.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void enqueueArrival(Car inCar, int tick){
+        inCar.queuedAt(tick);
+        carQueue.add(inCar);
+    }
+    
+    /**
+     * This method is the event driven engine's version of act's second step: if this signal is active, dequeue the amount of cars based on
+     * this signal's behavior into the outgoing car array, bringing each car's timers up to the given tick.
+     * @param tick      The running second the signal is acting on.
+     * @author Erik Clary
+     * @since 1.13b
+     */
+    void releaseAt(int tick){
+        if(lightActive){
+            releaseQueuedCars(tick);
+        }
+    }
+    
+    /**
+     * Dequeues the amount of cars based on this signal's behavior and adds them to the outgoing car array.
+     * @param settleTick    The tick to settle each released car's timers at, or -1 if the cars keep their own timers.
+     */
+    private void releaseQueuedCars(int settleTick){
+        if(!carQueue.isEmpty()){
+            int first = outGoingCars.size();
+            carQueue.drainTo(outGoingCars, behavior.getCarAmountToRelease());
+            for(int i = first; i<outGoingCars.size(); i++){
+                Car outC = outGoingCars.get(i);
+                if(settleTick >= 0)
+                    outC.settleAt(settleTick);
+                waitTimes.add(outC.getTimeAtSignal());
+            }
+        }
+    }
+    
+    /**
+     * This method writes this signal's state to a map checkpoint: its light, the cars on its road and in its queue, and the wait times of
+     * the cars it has released. It must be called between seconds, when the signal has no outgoing cars.
+     * @param out       The checkpoint being written.
+     * @param carIndex  Gives the index of a car in the checkpoint's car table.
+     * @throws IOException if the checkpoint can not be written.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void writeState(DataOutputStream out, ToIntFunction<Car> carIndex) throws IOException{
+        if(!outGoingCars.isEmpty())
+            throw new IllegalStateException("Traffic Signal " + identifier + " has cars being handed off, it can only be written between seconds.");
+        out.writeBoolean(lightActive);
+        out.writeInt(roadCars.size());
+        for(Car e: roadCars){
+            out.writeInt(carIndex.applyAsInt(e));
+        }
+        out.writeInt(carQueue.size());
+        for(int x = 0; x<carQueue.size(); x++){
+            out.writeInt(carIndex.applyAsInt(carQueue.get(x)));
+        }
+        waitTimes.writeState(out);
+    }
+    
+    /**
+     * This method replaces this signal's state with the state written by writeState.
+     * @param in        The checkpoint being read.
+     * @param cars      Looks up a car of the checkpoint's car table by its index.
+     * @throws IOException if the checkpoint can not be read.
+     * @author Erik Clary
+     * @since 1.19b
+     */
+    void readState(DataInputStream in, IntFunction<Car> cars) throws IOException{
+        lightActive = in.readBoolean();
+        roadCars.clear();
+        for(int x = in.readInt(); x>0; x--){
+            roadCars.add(cars.apply(in.readInt()));
+        }
+        carQueue.clear();
+        for(int x = in.readInt(); x>0; x--){
+            carQueue.add(cars.apply(in.readInt()));
+        }
+        waitTimes.readState(in);
+    }
+    
+    /**
+     * This method returns the estimated cost of this signal's act, which moves the arrived cars off the feeder road and dequeues from the queue.
+     * The map cuts its signal partitions by it.
+     * @return 1 plus the amount of cars on this signal's feeder road and in its queue.
+     * @author Erik Clary
+     * @since 1.12b
+     */
+    @Override
+    public int getActCost(){
+        return 1 + roadCars.size() + carQueue.size();
+    }
+    
+    /**
+     * This method returns the average time waited by all cars exited by this traffic signal.
+     * @return The average time cars spent at this signal.
+     * @author Erik Clary
+     * @since 1.09a
+     */
+    public double getAverageWaitTime(){
+        return waitTimes.getMean();
+    }
+    
+    /**
+     * This method returns the statistics of the time waited by all cars exited by this traffic signal, with percentiles.
+     * They keep changing while the map runs.
+     * @return The wait statistics of this signal.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public WaitStatistics getWaitStatistics(){
+        return waitTimes;
+    }
+    
+    /**
+     * This method returns the amount of cars that have passed through this signal as int.
+     * @return the amount of cars that has passed through this signal
+     * @since 1.10b
+     * @author Erik Clary
+     */
+    public int getTotalCarsThrough() {
+        return (int)waitTimes.getCount();
+    }
+    
+    /**
+     * This method returns the cars that are leaving this signal, in the order they were released. 
+     * The map empties it with clearOutGoingCars once it has moved them on.
+     * 
+     * @return the cars that are leaving this signal.
+     * @author Erik Clary
+     * @since 1.02a
+     */
+    CarRing getOutgoingCars(){
+        return outGoingCars;
+    }
+
+    /**
+     * This method returns the difference between the two traffic signals unique ID's (string) compareTo.
+     * <b> This method can only compare two traffic signals, otherwise it will fail.</b>
+     * @param E The other Traffic Signal for this to be compared to.
+     * @return Difference between the two traffic signals' unique identifiers as int.
+     * @since 1.04a
+     * @see Comparable
+     */
+    @Override
+    public int compareTo(Object E) {
+        if(E.getClass()!= TrafficSignal.class){
+            Logger.getLogger(TrafficSignal.class.getName()).log(Level.FINEST, "CompareTo used incorrectly with " +this);
+        }
+        return this.identifier.compareTo(((TrafficSignal)E).getIdentifier());
+    }
+    
+    /**
+     * This method is functionally the same as the overrode compareTo, but uses a string as the paramter (which should always be another TrafficSignal's ID)
+     * 
+     * @param identifier The other Traffic Signal's identifier for this to be compared to.
+     * @return Difference between the two traffic signals' unique identifiers as int.
+     * @since 1.04a
+     * @see Comparable
+     */
+    public int compareTo(String identifier) {
+        return this.identifier.compareTo(identifier);
+    }
+    
+    /**
+     * This method returns a euclidian distance calculation between this traffic signal and the other(parameter).
+     * @param other The traffic signal to find the distance to.
+     * @return The distance between the two TrafficSignals as double.
+     * @since 1.05a
+     */
+    public double getDistanceFrom(TrafficSignal other){
+        if(getCoordinates().length !=2){
+            Logger.getLogger(TrafficSignal.class.getName()).log(Level.FINE, "Traffic Signal " + identifier + "was created with a wrong coordinate length. Shutdown operation and recreate map.");
+            return -1;
+        }
+            
+        double x = Math.pow(coordinates[0]-other.getCoordinates()[0], 2);
+        double y = Math.pow(coordinates[1]-other.getCoordinates()[1], 2);
+        return Math.sqrt(x+y);
+    }
+    
+    /**
+     * This method returns the coordinate array for this TrafficSignal.
+     * @return The coordinate array as int[] of size 2.
+     * @since 1.05a
+     */
+    public int[] getCoordinates(){
+        return coordinates;
+    }
+
+    /**
+     * This method clears this traffic signal's outgoing cars array, should be called after the Map's moved all cars out of the array to their new destinations.
+     * @since 1.05a
+     * @see Map
+     */
+    public void clearOutGoingCars() {
+        outGoingCars.clear();
+    }
+
+    /**
+     * This method is required by java's Comparator interface. It returns the difference of distance between two traffic signals as int.
+     * @param t     A traffic signal to be compared.
+     * @param t1    Another traffic signal to be comared.
+     * @return      The distance between the two given TrafficSignals as int.
+     * @since 1.05a
+     */
+    @Override
+    public int compare(TrafficSignal t, TrafficSignal t1) {
+        if(t1.getCoordinates().length !=2){
+            Logger.getLogger(TrafficSignal.class.getName()).log(Level.FINE, "Traffic Signal " + t1.getIdentifier() + "was created with a wrong coordinate length. Shutdown operation and recreate map.");
+            return -1;
+        }
+            
+        double x = Math.pow(t1.getCoordinates()[0]-t.getCoordinates()[0], 2);
+        double y = Math.pow(t1.getCoordinates()[1]-t.getCoordinates()[1], 2);
+        return (int)Math.sqrt(x+y);
+    }
+
+    /**
+     * This method enables mulithreading of the traffic signal's operation.
+     * @author Erik Clary
+     * @since 1.09a
+     */
+    @Override
+    public void run() {
+        act();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.trafficsimulator;
+
+/**
+ * A TripRecord is what is kept of a car once it has left the map: where it started and finished, how long it was alive and how long it
+ * waited at lights and stop signs. It lets the map recycle the Car itself while keeping the results of its trip.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.21b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.21b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+public final class TripRecord {
+    private final String carID;
+    private final String startPoint;
+    private final String endPoint;
+    private final double aliveTime;
+    private final double timeAtSignalLight;
+    private final double timeAtStopSigns;
+
+    /**
+     * Constructor for this class, copies the results of a car that has just left the map.
+     *
+     * @param car   The despawned car, it can be recycled once this returns.
+     * @author Erik Clary
+     * @since 1.21b
+     */
+    TripRecord(Car car){
+        carID = car.getCarID();
+        startPoint = car.getStartPoint();
+        endPoint = car.getEndPoint();
+        aliveTime = car.getAliveTime();
+        timeAtSignalLight = car.getTimeAtSignalLight();
+        timeAtStopSigns = car.getTimeAtStopSigns();
+    }
+
+    /**
+     * @return The id of the car that made this trip, see Car.getCarID.
+     */
+    public String getCarID(){
+        return carID;
+    }
+
+    /**
+     * @return The unique id of the trip's starting signal.
+     */
+    public String getStartPoint(){
+        return startPoint;
+    }
+
+    /**
+     * @return The unique id of the last signal the car was headed to.
+     */
+    public String getEndPoint(){
+        return endPoint;
+    }
+
+    /**
+     * @return The seconds the car was in the map.
+     */
+    public double getAliveTime(){
+        return aliveTime;
+    }
+
+    /**
+     * @return The average time waited at traffic lights, NaN if the car went through none.
+     */
+    public double getTimeAtSignalLight(){
+        return timeAtSignalLight;
+    }
+
+    /**
+     * @return The average time waited at stop signs, NaN if the car went through none.
+     */
+    public double getTimeAtStopSigns(){
+        return timeAtStopSigns;
+    }
+}
@@ -0,0 +1,280 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The WaitStatistics class summarizes a stream of wait times in constant memory: the count, sum, minimum, maximum, mean and variance
+ * (by Welford's method) of every wait added, and optionally a histogram the percentiles are read from. Waits are whole seconds.
+ * <p> The histogram has one bucket for each wait under 16 seconds, then 8 buckets for every power of 2 above that, so a percentile is
+ * within 1/16 of the true wait, whatever the amount of waits added. Two statistics merge in constant time, which is how the results
+ * of separate runs or threads are combined.
+ * <p> It is not thread safe, each thread should add to its own statistics and merge them after.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.29b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.29b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+public final class WaitStatistics implements Serializable {
+    private static final int EXACT = 16;            //waits below this have a bucket each, a power of 2
+    private static final int EXACT_BITS = 4;
+    private static final int SUB_BITS = 3;          //each power of 2 above EXACT is split in 2^SUB_BITS buckets
+    private static final int BUCKETS = EXACT + (31-EXACT_BITS)*(1<<SUB_BITS);
+
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean;
+    private double sumSquares;          //sum of squared differences from the mean (Welford)
+    private final long[] histogram;     //null if percentiles are not kept
+
+    /**
+     * Constructor for this class, creates empty statistics.
+     *
+     * @param keepPercentiles   True to keep the histogram the percentiles are read from, false to keep only the moments.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public WaitStatistics(boolean keepPercentiles){
+        histogram = keepPercentiles ? new long[BUCKETS] : null;
+    }
+
+    /**
+     * This method adds one wait.
+     * @param wait  The wait in seconds.
+     * @throws IllegalArgumentException if the wait is negative.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public void add(int wait){
+        if(wait < 0)
+            throw new IllegalArgumentException("A wait can not be negative, was " + wait + ".");
+        count++;
+        sum += wait;
+        min = Math.min(min, wait);
+        max = Math.max(max, wait);
+        double delta = wait - mean;
+        mean += delta/count;
+        sumSquares += delta*(wait - mean);
+        if(histogram != null)
+            histogram[bucketOf(wait)]++;
+    }
+
+    /**
+     * This method adds every wait of other statistics to these, as if each had been added here.
+     * @param other The statistics to merge in, they are not changed. Their histogram is only merged if these keep one too.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public void merge(WaitStatistics other){
+        if(other.count == 0)
+            return;
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        sumSquares += other.sumSquares + delta*delta*((double)count*other.count/total);
+        mean += delta*other.count/total;
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if(histogram != null && other.histogram != null){
+            for(int x = 0; x<BUCKETS; x++){
+                histogram[x] += other.histogram[x];
+            }
+        }
+    }
+
+    /**
+     * This method removes every wait, the statistics are as they were when created.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public void clear(){
+        count = 0;
+        sum = 0;
+        min = Integer.MAX_VALUE;
+        max = Integer.MIN_VALUE;
+        mean = 0;
+        sumSquares = 0;
+        if(histogram != null)
+            Arrays.fill(histogram, 0);
+    }
+
+    /**
+     * @return The amount of waits added.
+     */
+    public long getCount(){
+        return count;
+    }
+
+    /**
+     * @return The sum of the waits in seconds.
+     */
+    public long getSum(){
+        return sum;
+    }
+
+    /**
+     * @return The shortest wait in seconds, Integer.MAX_VALUE if no wait was added.
+     */
+    public int getMin(){
+        return min;
+    }
+
+    /**
+     * @return The longest wait in seconds, Integer.MIN_VALUE if no wait was added.
+     */
+    public int getMax(){
+        return max;
+    }
+
+    /**
+     * This method returns the average wait, the sum divided by the count so it is exact.
+     * @return The average wait in seconds, NaN if no wait was added.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public double getMean(){
+        return (double)sum/count;
+    }
+
+    /**
+     * @return The sample variance of the waits in seconds squared, NaN with fewer than 2 waits.
+     */
+    public double getVariance(){
+        return count < 2 ? Double.NaN : sumSquares/(count-1);
+    }
+
+    /**
+     * @return The sample standard deviation of the waits in seconds, NaN with fewer than 2 waits.
+     */
+    public double getStandardDeviation(){
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return True if these statistics keep the histogram that getPercentile reads.
+     */
+    public boolean hasPercentiles(){
+        return histogram != null;
+    }
+
+    /**
+     * This method returns the wait that the given percent of the waits are at or under, by nearest rank. Waits under 16 seconds are
+     * exact, longer ones are the middle of their histogram bucket.
+     * @param percent   The percentile, from 0 to 100.
+     * @return The wait in seconds, NaN if no wait was added.
+     * @throws IllegalStateException if these statistics do not keep percentiles.
+     * @throws IllegalArgumentException if the percent is not from 0 to 100.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    public double getPercentile(double percent){
+        if(histogram == null)
+            throw new IllegalStateException("These wait statistics do not keep percentiles.");
+        if(!(percent >= 0 && percent <= 100))
+            throw new IllegalArgumentException("A percentile must be from 0 to 100, was " + percent + ".");
+        if(count == 0)
+            return Double.NaN;
+        long rank = Math.max(1, (long)Math.ceil(percent/100*count));
+        if(rank == count)
+            return max;
+        long seen = 0;
+        for(int x = 0; x<BUCKETS; x++){
+            seen += histogram[x];
+            if(seen >= rank){
+                if(x < EXACT)
+                    return x;
+                double middle = (lowestWaitIn(x) + (double)lowestWaitIn(x+1) - 1)/2;
+                return Math.max(min, Math.min(max, middle));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * This method writes these statistics to a map checkpoint.
+     * @param out   The checkpoint being written.
+     * @throws IOException if the checkpoint can not be written.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    void writeState(DataOutputStream out) throws IOException{
+        out.writeLong(count);
+        out.writeLong(sum);
+        out.writeInt(min);
+        out.writeInt(max);
+        out.writeDouble(mean);
+        out.writeDouble(sumSquares);
+        if(histogram == null)
+            return;
+        int used = 0;
+        for(long bucket: histogram){
+            if(bucket != 0)
+                used++;
+        }
+        out.writeInt(used);
+        for(int x = 0; x<BUCKETS; x++){
+            if(histogram[x] != 0){
+                out.writeShort(x);
+                out.writeLong(histogram[x]);
+            }
+        }
+    }
+
+    /**
+     * This method replaces these statistics with the ones written by writeState, from statistics that kept percentiles if these do.
+     * @param in    The checkpoint being read.
+     * @throws IOException if the checkpoint can not be read.
+     * @author Erik Clary
+     * @since 1.29b
+     */
+    void readState(DataInputStream in) throws IOException{
+        clear();
+        count = in.readLong();
+        sum = in.readLong();
+        min = in.readInt();
+        max = in.readInt();
+        mean = in.readDouble();
+        sumSquares = in.readDouble();
+        if(histogram == null)
+            return;
+        for(int x = in.readInt(); x>0; x--){
+            int bucket = in.readShort();
+            if(bucket < 0 || bucket >= BUCKETS)
+                throw new IOException("Checkpoint has a wait histogram bucket " + bucket + " out of range.");
+            histogram[bucket] = in.readLong();
+        }
+    }
+
+    /**
+     * Returns the histogram bucket of a wait.
+     */
+    private static int bucketOf(int wait){
+        if(wait < EXACT)
+            return wait;
+        int power = 31 - Integer.numberOfLeadingZeros(wait);     //EXACT_BITS or more
+        int sub = (wait >>> (power - SUB_BITS)) & ((1<<SUB_BITS)-1);
+        return EXACT + ((power - EXACT_BITS)<<SUB_BITS) + sub;
+    }
+
+    /**
+     * Returns the shortest wait in a bucket, the bucket past the last one starts at 2^31.
+     */
+    private static long lowestWaitIn(int bucket){
+        if(bucket < EXACT)
+            return bucket;
+        int power = EXACT_BITS + ((bucket - EXACT)>>>SUB_BITS);
+        int sub = (bucket - EXACT) & ((1<<SUB_BITS)-1);
+        return (1L<<power) + ((long)sub<<(power - SUB_BITS));
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * CarGeneratorTest checks that the cars a generator makes do not depend on how many threads make them.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.36b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.36b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+public class CarGeneratorTest {
+    private static final int CARS = 3*CarGenerator.BATCH + 17;     //several batches and a partial one
+    private static final int SEED = 54861234;
+
+    @Test
+    public void fillQueueIsTheSameAtAnyParallelism() throws Exception{
+        ArrayList<byte[]> sequential = fillQueue(1);
+        ArrayList<byte[]> parallel = fillQueue(4);
+        assertEquals(CARS, sequential.size());
+        assertEquals(sequential.size(), parallel.size());
+        for(int x = 0; x<sequential.size(); x++){
+            assertArrayEquals("Car " + x, sequential.get(x), parallel.get(x));
+        }
+    }
+
+    @Test
+    public void nextContinuesFillQueuesOrder() throws Exception{
+        ArrayList<byte[]> filled = fillQueue(4);
+        Map map = newMap();
+        CarGenerator generator = new CarGenerator(SEED);
+        for(int x = 0; x<filled.size(); x++){
+            assertArrayEquals("Car " + x, filled.get(x), state(generator.next(map, null)));
+        }
+    }
+
+    /**
+     * Fills a queue from a new generator inside a pool of the given parallelism, and returns each car's state in queue order.
+     */
+    private static ArrayList<byte[]> fillQueue(int parallelism) throws InterruptedException, ExecutionException, IOException{
+        Map map = newMap();
+        Queue<Car> queue = new LinkedList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> new CarGenerator(SEED).fillQueue(map, queue, null)).get();
+        } finally {
+            pool.shutdown();
+        }
+        ArrayList<byte[]> cars = new ArrayList<>();
+        for(Car e: queue){
+            cars.add(state(e));
+        }
+        return cars;
+    }
+
+    private static Map newMap(){
+        Map map = TestNetwork.grid(6);
+        map.userSettings(CARS, 1000);
+        return map;
+    }
+
+    /**
+     * Returns everything a car writes to a checkpoint: its type, start and end, route and timers.
+     */
+    private static byte[] state(Car car) throws IOException{
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            car.writeState(out);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * ContractionHierarchyTest checks the routes of a map's contraction hierarchy against a plain Dijkstra search of its signal graph, on a
+ * network whose roads take different times.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.36b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.36b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+public class ContractionHierarchyTest {
+    private static final long UNREACHED = Long.MAX_VALUE;
+
+    @Test
+    public void routesAreAsQuickAsDijkstras(){
+        Map map = TestNetwork.grid(8);
+        SignalGraph graph = map.getSignalGraph();
+        ContractionHierarchy.Query query = map.getRouter().newQuery();
+        for(int start = 0; start<graph.size(); start++){
+            long[] distance = dijkstra(graph, start);
+            for(int end = 0; end<graph.size(); end++){
+                int length = query.route(start, end);
+                if(distance[end] == UNREACHED){
+                    assertEquals("Route " + start + " to " + end, 0, length);
+                    continue;
+                }
+                assertTrue("Route " + start + " to " + end + " not found", length > 0);
+                assertEquals("Route " + start + " to " + end + " starts", start, query.signalAt(0).getId());
+                assertEquals("Route " + start + " to " + end + " ends", end, query.signalAt(length - 1).getId());
+                long time = 0;
+                for(int x = 1; x<length; x++){
+                    assertTrue("Route " + start + " to " + end + " leaves the roads",
+                            graph.isExit(query.signalAt(x - 1).getId(), query.signalAt(x).getId()));
+                    time += query.signalAt(x).getRouteWeight();
+                }
+                assertEquals("Route " + start + " to " + end, distance[end], time);
+            }
+        }
+    }
+
+    @Test
+    public void alternativesStayWithinTheStretch(){
+        Map map = TestNetwork.grid(8);
+        SignalGraph graph = map.getSignalGraph();
+        ContractionHierarchy.Query query = map.getRouter().newQuery();
+        for(int start = 0; start<graph.size(); start += 7){
+            long[] distance = dijkstra(graph, start);
+            for(int end = 0; end<graph.size(); end += 3){
+                if(end == start || distance[end] == UNREACHED)
+                    continue;
+                int[][] routes = query.alternatives(start, end, RouteCache.ALTERNATIVES, RouteCache.STRETCH, RouteCache.SHARED);
+                assertTrue("Route " + start + " to " + end + " not found", routes.length > 0);
+                for(int[] route: routes){
+                    long time = 0;
+                    for(int x = 1; x<route.length; x++){
+                        assertTrue("Alternative " + start + " to " + end + " leaves the roads", graph.isExit(route[x - 1], route[x]));
+                        time += graph.signal(route[x]).getRouteWeight();
+                    }
+                    assertTrue("Alternative " + start + " to " + end + " is too long", time <= distance[end]*RouteCache.STRETCH);
+                }
+                assertEquals("Shortest " + start + " to " + end, distance[end], time(graph, routes[0]));
+            }
+        }
+    }
+
+    @Test
+    public void roadsWeighTheirTime(){
+        Map map = TestNetwork.grid(8);
+        HashSet<Integer> weights = new HashSet<>();
+        for(TrafficSignal e: map.getTrafficSignals()){
+            weights.add(e.getRouteWeight());
+        }
+        assertTrue("The network's roads all weigh the same", weights.size() > map.getTrafficSignals().size()/2);
+    }
+
+    /**
+     * Returns the quickest time from the start to every signal, following the exits of the graph.
+     */
+    private static long[] dijkstra(SignalGraph graph, int start){
+        long[] distance = new long[graph.size()];
+        Arrays.fill(distance, UNREACHED);
+        distance[start] = 0;
+        PriorityQueue<long[]> open = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        open.add(new long[]{0, start});
+        while(!open.isEmpty()){
+            long[] next = open.poll();
+            int from = (int)next[1];
+            if(next[0] > distance[from])
+                continue;
+            for(int e = graph.firstExit(from); e<graph.endExit(from); e++){
+                int to = graph.exitAt(e);
+                int weight = graph.signal(to).getRouteWeight();
+                if(to == from || weight == CarBehavior.NEVER)
+                    continue;
+                if(distance[from] + weight < distance[to]){
+                    distance[to] = distance[from] + weight;
+                    open.add(new long[]{distance[to], to});
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static long time(SignalGraph graph, int[] route){
+        long time = 0;
+        for(int x = 1; x<route.length; x++){
+            time += graph.signal(route[x]).getRouteWeight();
+        }
+        return time;
+    }
+}
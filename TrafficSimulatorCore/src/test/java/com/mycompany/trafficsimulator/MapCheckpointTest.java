@@ -0,0 +1,109 @@
+package com.mycompany.trafficsimulator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * MapCheckpointTest checks that a map resumed from a checkpoint finishes with the same results as the run the checkpoint was taken from.
+ * The maps run the default car curve, so the checkpoint is taken while the car source is still generating cars.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.36b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.36b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+public class MapCheckpointTest {
+    private static final int WIDTH = 6;
+    private static final int CHECKPOINT_EVERY = 20000;  //one checkpoint, part way through the run, while cars are still being generated
+    private static final int SEED = 54861234;
+
+    @Test
+    public void resumedTimeSteppedRunMatchesUninterruptedRun() throws IOException{
+        assertResumeMatches(Map.TIME_STEPPED);
+    }
+
+    @Test
+    public void resumedDiscreteEventRunMatchesUninterruptedRun() throws IOException{
+        assertResumeMatches(Map.DISCRETE_EVENT);
+    }
+
+    @Test
+    public void resumeRejectsCarSourceWithAnotherSeed() throws IOException{
+        File checkpoint = File.createTempFile("map", ".ckpt");
+        try {
+            Map checkpointed = newMap(Map.TIME_STEPPED);
+            checkpointed.setCheckpointing(checkpoint, CHECKPOINT_EVERY);
+            checkpointed.addInitialCars(new LinkedList<>());
+            checkpointed.run();
+
+            Map resumed = TestNetwork.grid(WIDTH);
+            resumed.setCarSource(new CarGenerator(SEED + 1));
+            try {
+                resumed.resumeFrom(checkpoint);
+                fail("A checkpoint of cars from another seed was resumed");
+            } catch (IOException ex) {
+                //expected
+            }
+        } finally {
+            checkpoint.delete();
+        }
+    }
+
+    /**
+     * Runs the map twice, once straight through while checkpointing and once resumed from that checkpoint, and compares the results.
+     */
+    private static void assertResumeMatches(int engineMode) throws IOException{
+        File checkpoint = File.createTempFile("map", ".ckpt");
+        try {
+            Map uninterrupted = newMap(engineMode);
+            uninterrupted.setCheckpointing(checkpoint, CHECKPOINT_EVERY);
+            uninterrupted.addInitialCars(new LinkedList<>());
+            uninterrupted.run();
+
+            Map resumed = TestNetwork.grid(WIDTH);
+            resumed.setCarSource(new CarGenerator(SEED));
+            resumed.resumeFrom(checkpoint);
+            resumed.run();
+
+            ArrayList<String> expected = results(uninterrupted);
+            ArrayList<String> actual = results(resumed);
+            assertEquals(expected.size(), actual.size());
+            for(int x = 0; x<expected.size(); x++){
+                assertEquals("Result " + x, expected.get(x), actual.get(x));
+            }
+        } finally {
+            checkpoint.delete();
+        }
+    }
+
+    private static Map newMap(int engineMode){
+        Map map = TestNetwork.grid(WIDTH);
+        map.setEngineMode(engineMode);
+        map.setCarSource(new CarGenerator(SEED));
+        return map;
+    }
+
+    /**
+     * Lists what a finished run reports: each signal's cars and average wait, then each despawned car's trip, in the order they left.
+     */
+    private static ArrayList<String> results(Map map){
+        ArrayList<String> results = new ArrayList<>();
+        for(TrafficSignal e: map.getTrafficSignals()){
+            results.add(e.getIdentifier() + " " + e.getTotalCarsThrough() + " " + e.getAverageWaitTime());
+        }
+        for(Car e: map.getDespawnedCars()){
+            results.add(e.getCarID() + " " + e.getStartPoint() + " " + e.getEndPoint() + " " + e.getAliveTime() + " "
+                    + e.getTimeAtSignalLight() + " " + e.getTimeAtStopSigns());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.trafficsimulator;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * TestNetwork builds small maps for the tests without a spreadsheet: a square grid of intersections, each joined to its neighbours by
+ * a road in either direction that ends at a traffic light. The roads' lengths and speeds come from a fixed seed, so every map built
+ * with the same width is the same network.
+ *
+ * @author Erik Clary
+ * @version %I%, %G%
+ * @since 1.36b
+ * <p> <b>Date Created: </b>October 18, 2026
+ * <p> <b>Version Comments:</b>
+ *      <ul>
+ *          <li> 1.36b | 10/18/2026: Initial commit </li>
+ *      </ul>
+ */
+final class TestNetwork {
+    private static final int[][] NEIGHBOURS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    private TestNetwork(){
+    }
+
+    /**
+     * This method builds a new map of a grid of intersections.
+     *
+     * @param width The amount of intersections along each side of the grid, at least 2.
+     * @return The map, with no cars in it.
+     * @author Erik Clary
+     * @since 1.36b
+     */
+    static Map grid(int width){
+        Random roads = new Random(7);
+        ArrayList<TrafficSignal> signals = new ArrayList<>();
+        ArrayList<ArrayList<TrafficSignal>> into = new ArrayList<>();
+        ArrayList<ArrayList<TrafficSignal>> outOf = new ArrayList<>();
+        for(int x = 0; x<width*width; x++){
+            into.add(new ArrayList<>());
+            outOf.add(new ArrayList<>());
+        }
+        for(int row = 0; row<width; row++){
+            for(int column = 0; column<width; column++){
+                for(int[] e: NEIGHBOURS){
+                    int toRow = row + e[0];
+                    int toColumn = column + e[1];
+                    if(toRow < 0 || toColumn < 0 || toRow >= width || toColumn >= width)
+                        continue;
+                    Road road = new Road("Road " + signals.size(), "N", 0.1 + roads.nextDouble()*5, 1 + roads.nextInt(60));
+                    TrafficSignal signal = new TrafficSignal(SignalBehavior.TRAFFICLIGHTA, road, String.format("%08d", signals.size()), new int[]{row, column});
+                    signal.setId(signals.size());
+                    signals.add(signal);
+                    into.get(toRow*width + toColumn).add(signal);
+                    outOf.get(row*width + column).add(signal);
+                }
+            }
+        }
+        ArrayList<SignalGroup> groups = new ArrayList<>();
+        for(int x = 0; x<width*width; x++){
+            ArrayList<TrafficSignal[]> operationOrder = new ArrayList<>();
+            for(TrafficSignal e: into.get(x)){
+                operationOrder.add(new TrafficSignal[]{e});
+            }
+            SignalGroup group = new SignalGroup(outOf.get(x), into.get(x), operationOrder);
+            group.setId(x);
+            groups.add(group);
+        }
+        return new Map(groups, signals);
+    }
+}